@@ -6,14 +6,19 @@
  */
 package com.turkcell.curio;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
 import org.apache.http.HttpStatus;
+import org.apache.http.NameValuePair;
+import org.apache.http.message.BasicNameValuePair;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -40,6 +45,7 @@ import com.turkcell.curio.utils.CurioClientSettings;
 import com.turkcell.curio.utils.CurioDBHelper;
 import com.turkcell.curio.utils.CurioLogger;
 import com.turkcell.curio.utils.CurioUtil;
+import com.turkcell.curio.utils.EventRingBuffer;
 import com.turkcell.curio.utils.NetworkUtil;
 import com.turkcell.curio.utils.PushUtil;
 import com.turkcell.curio.utils.VisitorCodeManager;
@@ -69,15 +75,18 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 	private boolean isOfflineCachingOn;
 	private Boolean initialConnectionState;
 	private StaticFeatureSet staticFeatureSet;
-	private boolean offlineReqExists = true;
+	private volatile boolean offlineReqExists = true;
 	private Boolean isAdIdAvailable = null;
 	private String pushMessageId = null;
 	private String customId = null;
 	private boolean isTriggeredByUnregisterRequest = false;
 
-	protected int unauthCount = 0;
+	/**
+	 * Checked and updated by session gating result listeners on request processor thread, reset by other result listeners on callback thread.
+	 */
+	protected volatile int unauthCount = 0;
 	protected boolean isParamLoadingFinished = false;
-	protected boolean isSessionStartSent;
+	protected volatile boolean isSessionStartSent;
 	private String tmpTrackingCode;
 	private String tmpApiKey;
 	private String tmpGcmSenderId;
@@ -177,10 +186,10 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 
 		initialConnectionState = NetworkUtil.getInstance().isConnected();
 		isOfflineCachingOn = !initialConnectionState;
-		CurioLogger.d(TAG, "Initial network connection state is: " + initialConnectionState);
+		CurioLogger.d(TAG, "Initial network connection state is: {}", initialConnectionState);
 
 		CurioDBHelper.createInstance(this);
-		CurioLogger.d(TAG, "Finished creating Curio Client on " + System.currentTimeMillis());
+		CurioLogger.d(TAG, "Finished creating Curio Client on {}", System.currentTimeMillis());
 	}
 
 	/**
@@ -218,7 +227,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 							dispatchPeriod = sessionTimeout - 1;
 							CurioClientSettings.getInstance(context).setDispatchPeriod(dispatchPeriod);
 							CurioLogger.i(TAG, "Periodic dispatch is ENABLED.");
-							CurioLogger.i(TAG, "Dispatch period is " + dispatchPeriod + " minutes");
+							CurioLogger.i(TAG, "Dispatch period is {} minutes", dispatchPeriod);
 						}
 					}
 				}
@@ -229,7 +238,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 
 						CurioLogger.d(TAG, "Trying to get AdId...");
 						adInfo = AdvertisingIdClient.getAdvertisingIdInfo(context);
-						CurioLogger.d(TAG, "Fetched AdId is " + adInfo);
+						CurioLogger.d(TAG, "Fetched AdId is {}", adInfo);
 
 					} catch (IOException e) {
 						// Unrecoverable error connecting to Google Play services.
@@ -271,7 +280,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 				}
 				setParamLoadingFinished(true);
 
-				CurioLogger.d(TAG, "Finished loading params and created static feature set on " + System.currentTimeMillis());
+				CurioLogger.d(TAG, "Finished loading params and created static feature set on {}", System.currentTimeMillis());
 			}
 		}).start();
 	}
@@ -320,7 +329,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 				if (statusCode == HttpStatus.SC_PRECONDITION_FAILED) {
 					CurioLogger.e(TAG, "Failed to start session on server due to wrong account parameters");
 				} else if (statusCode == HttpStatus.SC_OK) {
-					CurioLogger.d(TAG, "Session start is successful. Session code is " + instance.getSessionCode(false));
+					CurioLogger.d(TAG, "Session start is successful. Session code is {}", instance.getSessionCode(false));
 					if (getStaticFeatureSet().autoPushRegistration) { // If auto push registration enabled
 						if (pushMessageId == null) {
 							if (!isTriggeredByUnregisterRequest) {
@@ -333,7 +342,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 						}
 					}
 				} else {
-					CurioLogger.e(TAG, "Failed to start session on server. Server returned status code: " + statusCode);
+					CurioLogger.e(TAG, "Failed to start session on server. Server returned status code: {}", statusCode);
 				}
 			}
 		};
@@ -403,20 +412,29 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 
 		ICurioResultListener callback = null;
 
-		if (isPeriodicDispatchEnabled || isOfflineCachingOn) {
+		/**
+		 * Batch requests do not return hit codes, so hit code is generated at client side if request will be sent within a batch.
+		 */
+		boolean isOnlineBatchingEnabled = CurioClientSettings.getInstance(context).isOnlineBatchingEnabled();
+
+		if (isPeriodicDispatchEnabled || isOfflineCachingOn || isOnlineBatchingEnabled) {
 			String generatedHitcode = CurioUtil.generateRandomUUID();
 			contextHitcodeMap.put(className, new Screen(generatedHitcode, title, path));
 			params.put(Constants.HTTP_PARAM_HIT_CODE, generatedHitcode);
-			CurioLogger.d(TAG, "PD: " + isPeriodicDispatchEnabled + ", OC: " + isOfflineCachingOn + ", generatedHitcode " + generatedHitcode + " put into map for " + className);
-		} else {
-			CurioLogger.d(TAG, "PD: " + isPeriodicDispatchEnabled + ", OC: " + isOfflineCachingOn);
+			if (CurioLogger.isDebugEnabled()) {
+				CurioLogger.d(TAG, "PD: " + isPeriodicDispatchEnabled + ", OC: " + isOfflineCachingOn + ", OB: " + isOnlineBatchingEnabled + ", generatedHitcode " + generatedHitcode + " put into map for " + className);
+			}
+		}
+
+		if (!isPeriodicDispatchEnabled && !isOfflineCachingOn) {
+			CurioLogger.d(TAG, "PD: {}, OC: {}", isPeriodicDispatchEnabled, isOfflineCachingOn);
 			callback = new ICurioResultListener() {
 				@Override
 				public void handleResult(int statusCode, JSONObject result) {
 					if (statusCode == HttpStatus.SC_UNAUTHORIZED) {
 						if (unauthCount <= 5) {
 							unauthCount++;
-							CurioLogger.d(TAG, "StartScreen - Try count: " + unauthCount);
+							CurioLogger.d(TAG, "StartScreen - Try count: {}", unauthCount);
 							/**
 							 * If sessionStart request not already sent, 1-Stop second and third priority request queue processing. 2-Send sessionStart request. 3-Set sessionStartsent flag.
 							 */
@@ -440,7 +458,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 							CurioLogger.d(TAG, "Result is null, will not process.");
 						}
 					} else {
-						CurioLogger.e(TAG, "Failed to start screen. Server responded with status code: " + statusCode);
+						CurioLogger.e(TAG, "Failed to start screen. Server responded with status code: {}", statusCode);
 					}
 				}
 			};
@@ -489,7 +507,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 		String urlEncodedPath = "";
 		String hitCode = "";
 
-		CurioLogger.d(TAG, "Class name is " + className);
+		CurioLogger.d(TAG, "Class name is {}", className);
 
 		Screen screen = contextHitcodeMap.get(className);
 
@@ -521,7 +539,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 				if (statusCode == HttpStatus.SC_UNAUTHORIZED) {
 					if (unauthCount <= 5) {
 						unauthCount++;
-						CurioLogger.d(TAG, "End Screen - Try count: " + unauthCount);
+						CurioLogger.d(TAG, "End Screen - Try count: {}", unauthCount);
 
 						/**
 						 * If sessionStart request not already sent, 1-Stop second and third priority request queue processing. 2-Send sessionStart request. 3-Set sessionStartsent flag.
@@ -536,7 +554,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 				} else if (statusCode == HttpStatus.SC_OK) {
 					CurioLogger.d(TAG, "Server responded OK. Screen ended.");
 				} else {
-					CurioLogger.d(TAG, "Failed to end screen. Server responded with status code: " + statusCode);
+					CurioLogger.d(TAG, "Failed to end screen. Server responded with status code: {}", statusCode);
 				}
 			}
 		};
@@ -634,7 +652,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 				if (statusCode == HttpStatus.SC_UNAUTHORIZED) {
 					if (unauthCount <= 5) {
 						unauthCount++;
-						CurioLogger.d(TAG, "Send Event - Try count: " + unauthCount);
+						CurioLogger.d(TAG, "Send Event - Try count: {}", unauthCount);
 
 						/**
 						 * If sessionStart request not already sent, 1-Stop second and third priority request queue processing. 2-Send sessionStart request. 3-Set sessionStartsent flag.
@@ -649,7 +667,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 				} else if (statusCode == HttpStatus.SC_OK) {
 					CurioLogger.d(TAG, "Server responded OK. Event sent.");
 				} else {
-					CurioLogger.d(TAG, "Failed to send event. Server responded with status code: " + statusCode);
+					CurioLogger.d(TAG, "Failed to send event. Server responded with status code: {}", statusCode);
 				}
 			}
 		};
@@ -681,23 +699,19 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 			 */
 			if (!shoulBeOnlineRequest && CurioClient.getInstance().isPeriodicDispatchEnabled()) {
 				OfflineRequest offlineRequest = new OfflineRequest(url, params);
-				CurioLogger.d(TAG, "[PERIODIC DISPATCH REQ] added to queue. URL:" + url + ", SC: " + offlineRequest.getParams().get(Constants.HTTP_PARAM_SESSION_CODE) + ", HC:"
-						+ offlineRequest.getParams().get(Constants.HTTP_PARAM_HIT_CODE));
+				CurioLogger.d(TAG, "[PERIODIC DISPATCH REQ] added to queue. URL:{}, SC: {}, HC:{}", url, params.get(Constants.HTTP_PARAM_SESSION_CODE), params.get(Constants.HTTP_PARAM_HIT_CODE));
+				CurioLogger.event(EventRingBuffer.EVENT_REQUEST_STORED, priority, 0);
 				DBRequestProcessor.pushToPeriodicDispatchDBQueue(offlineRequest);
 			} else {
 				OnlineRequest onlineRequest = new OnlineRequest(url, params, callback, priority);
-				CurioLogger.d(
-						TAG,
-						"[ONLINE REQ] added to queue. URL:" + url + ", SC: " + onlineRequest.getParams().get(Constants.HTTP_PARAM_SESSION_CODE) + ", HC:"
-								+ onlineRequest.getParams().get(Constants.HTTP_PARAM_HIT_CODE));
+				CurioLogger.d(TAG, "[ONLINE REQ] added to queue. URL:{}, SC: {}, HC:{}", url, params.get(Constants.HTTP_PARAM_SESSION_CODE), params.get(Constants.HTTP_PARAM_HIT_CODE));
+				CurioLogger.event(EventRingBuffer.EVENT_REQUEST_QUEUED, priority, 0);
 				CurioRequestProcessor.pushToOnlineQueue(onlineRequest);
 			}
 		} else {
 			OfflineRequest offlineRequest = new OfflineRequest(url, params);
-			CurioLogger.d(
-					TAG,
-					"[OFFLINE REQ] added to queue. URL:" + url + ", SC: " + offlineRequest.getParams().get(Constants.HTTP_PARAM_SESSION_CODE) + ", HC:"
-							+ offlineRequest.getParams().get(Constants.HTTP_PARAM_HIT_CODE));
+			CurioLogger.d(TAG, "[OFFLINE REQ] added to queue. URL:{}, SC: {}, HC:{}", url, params.get(Constants.HTTP_PARAM_SESSION_CODE), params.get(Constants.HTTP_PARAM_HIT_CODE));
+			CurioLogger.event(EventRingBuffer.EVENT_REQUEST_STORED, priority, 0);
 			setOfflineRequestExist(true);
 			DBRequestProcessor.pushToOfflineDBQueue(offlineRequest);
 		}
@@ -709,15 +723,18 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 	 * @param offlineRequest
 	 */
 	protected void addRequestToOfflineCache(OfflineRequest offlineRequest) {
-		CurioLogger.d(TAG, "[OFFLINE REQ] added to queue. URL:" + offlineRequest.getUrl() + ", SC: " + offlineRequest.getParams().get(Constants.HTTP_PARAM_SESSION_CODE) + ", HC:"
-				+ offlineRequest.getParams().get(Constants.HTTP_PARAM_HIT_CODE));
+		CurioLogger.d(TAG, "[OFFLINE REQ] added to queue. URL:{}, SC: {}, HC:{}", offlineRequest.getUrl(), offlineRequest.getParams().get(Constants.HTTP_PARAM_SESSION_CODE),
+				offlineRequest.getParams().get(Constants.HTTP_PARAM_HIT_CODE));
 		setOfflineRequestExist(true);
 		DBRequestProcessor.pushToOfflineDBQueue(offlineRequest);
 	}
 
 	@Override
 	public void networkConnectivityChanged(boolean isConnected) {
-		CurioLogger.d(TAG, "NETWORK CONNECTIVITY CHANGED, CONNECTION STATE: " + isConnected);
+		CurioLogger.d(TAG, "NETWORK CONNECTIVITY CHANGED, CONNECTION STATE: {}", isConnected);
+
+		// Processor thread waits while device is offline, so wake it up to re-check.
+		CurioRequestProcessor.wakeUp();
 
 		if (initialConnectionState != null && initialConnectionState.booleanValue() == isConnected) {
 			initialConnectionState = null;
@@ -725,6 +742,10 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 		}
 
 		if (isConnected) {
+			if (staticFeatureSet != null) {
+				staticFeatureSet.setConnType(NetworkUtil.getInstance().getConnectionType());
+			}
+
 			isOfflineCachingOn = false;
 			CurioLogger.i(TAG, "Offline cache is DISABLED.");
 			if (getSessionCode(false) == null) {
@@ -803,7 +824,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 				if (statusCode == HttpStatus.SC_UNAUTHORIZED) {
 					if (unauthCount <= 5) {
 						unauthCount++;
-						CurioLogger.d(TAG, "SendRegistrationId - Try count: " + unauthCount);
+						CurioLogger.d(TAG, "SendRegistrationId - Try count: {}", unauthCount);
 						/**
 						 * If sessionStart request not already sent, 1-Stop second and third priority request queue processing. 2-Send sessionStart request. 3-Set sessionStartsent flag.
 						 */
@@ -818,7 +839,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 					unauthCount = 0;
 					CurioLogger.d(TAG, "Registration id has been successfully sent to push server.");
 				} else {
-					CurioLogger.e(TAG, "Failed to send registration id. Server responded with status code: " + statusCode);
+					CurioLogger.e(TAG, "Failed to send registration id. Server responded with status code: {}", statusCode);
 				}
 			}
 		};
@@ -921,7 +942,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 					if (statusCode == HttpStatus.SC_UNAUTHORIZED) {
 						if (unauthCount <= 5) {
 							unauthCount++;
-							CurioLogger.d(TAG, "Unregister - Try count: " + unauthCount);
+							CurioLogger.d(TAG, "Unregister - Try count: {}", unauthCount);
 							/**
 							 * If sessionStart request not already sent, 1-Stop second and third priority request queue processing. 2-Send sessionStart request. 3-Set sessionStartsent flag.
 							 */
@@ -942,7 +963,7 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 						PushUtil.deleteRegistrationId(context);
 						CurioLogger.d(TAG, "Unregister request successfully send to push server.");
 					} else {
-						CurioLogger.e(TAG, "Failed to unregister. Server responded with status code: " + statusCode);
+						CurioLogger.e(TAG, "Failed to unregister. Server responded with status code: {}", statusCode);
 					}
 				}
 			};
@@ -1054,6 +1075,15 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 		CurioClientSettings.getInstance(context).setServerUrl(serverUrl);
 	}
 
+	/**
+	 * Dumps recent SDK events kept in memory for diagnostics. Event buffer is enabled by event_buffer_size configuration parameter.
+	 * 
+	 * @return dumped events, or null if event buffer is disabled.
+	 */
+	public String dumpRecentEvents() {
+		return CurioLogger.dumpEvents();
+	}
+
 	public StaticFeatureSet getStaticFeatureSet() {
 		return staticFeatureSet;
 	}
@@ -1088,6 +1118,12 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 		private String gcmSenderId;
 		private boolean autoPushRegistration;
 
+		/**
+		 * URL encoded form of static parameters that are sent with session start and offline requests. Built once and rebuilt only after one of them changes.
+		 */
+		private byte[] encodedStaticParams;
+		private final Map<String, byte[]> codecStaticParams = new HashMap<String, byte[]>();
+
 		public StaticFeatureSet(String apiKey, String trackingCode, String visitorCode, int sessionTimeout, String gcmSenderId, boolean autoPushRegistration) {
 			// Get screen sizes
 			WindowManager wm = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
@@ -1165,16 +1201,18 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 			return apiKey;
 		}
 
-		public void setApiKey(String apiKey) {
+		public synchronized void setApiKey(String apiKey) {
 			this.apiKey = apiKey;
+			invalidateEncodedStaticParams();
 		}
 
 		public String getTrackingCode() {
 			return trackingCode;
 		}
 
-		public void setTrackingCode(String trackingCode) {
+		public synchronized void setTrackingCode(String trackingCode) {
 			this.trackingCode = trackingCode;
+			invalidateEncodedStaticParams();
 		}
 
 		public String getVisitorCode() {
@@ -1189,8 +1227,9 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 			return sessionTimeout;
 		}
 
-		public void setSessionTimeout(int sessionTimeout) {
+		public synchronized void setSessionTimeout(int sessionTimeout) {
 			this.sessionTimeout = sessionTimeout;
+			invalidateEncodedStaticParams();
 		}
 
 		public String getDeviceScreenWidth() {
@@ -1229,6 +1268,13 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 			return connType;
 		}
 
+		public synchronized void setConnType(String connType) {
+			if (connType != null && !connType.equals(this.connType)) {
+				this.connType = connType;
+				invalidateEncodedStaticParams();
+			}
+		}
+
 		public String getBrand() {
 			return brand;
 		}
@@ -1269,6 +1315,87 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 			this.autoPushRegistration = autoPushRegistration;
 		}
 
+		/**
+		 * Gets static parameters of session start and offline requests as URL encoded name=value pairs separated by '&amp;'. Returned array is shared, so it must not be modified.
+		 * 
+		 * @return
+		 */
+		public synchronized byte[] getEncodedStaticParams() {
+			if (encodedStaticParams == null) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+
+				try {
+					for (NameValuePair pair : createStaticParamList()) {
+						if (out.size() > 0) {
+							out.write('&');
+						}
+
+						CurioUtil.writeUrlEncodedParam(pair.getName(), pair.getValue(), out);
+					}
+				} catch (IOException e) {
+					CurioLogger.e(TAG, e.getMessage(), e);
+				}
+
+				encodedStaticParams = out.toByteArray();
+
+				CurioLogger.d(TAG, "Encoded static params: {}", encodedStaticParams.length);
+			}
+			return encodedStaticParams;
+		}
+
+		/**
+		 * Gets static parameters of offline requests encoded by given codec. Encoded parameters are cached per codec type, returned array is shared, so it must not be modified.
+		 * 
+		 * @param codec
+		 * @return
+		 * @throws IOException
+		 */
+		public synchronized byte[] getEncodedStaticParams(IPayloadCodec codec) throws IOException {
+			byte[] encoded = codecStaticParams.get(codec.getContentType());
+
+			if (encoded == null) {
+				encoded = codec.encodeStaticParams(createStaticParamList());
+				codecStaticParams.put(codec.getContentType(), encoded);
+			}
+			return encoded;
+		}
+
+		/**
+		 * Creates list of static parameters of session start and offline requests.
+		 * 
+		 * @return
+		 */
+		private List<NameValuePair> createStaticParamList() {
+			List<NameValuePair> staticParams = new ArrayList<NameValuePair>();
+
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_API_KEY, apiKey));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_SESSION_TIMEOUT, Integer.toString(sessionTimeout)));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_VISITOR_CODE, visitorCode));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_TRACKING_CODE, trackingCode));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_SCREEN_WIDTH, deviceScreenWidth));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_SCREEN_HEIGHT, deviceScreenHeight));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_ACTIVITY_WIDTH, activityWidth));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_ACTIVITY_HEIGHT, activityHeight));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_LANG, language));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_SIM_OPERATOR, simOperator));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_SIM_COUNTRY_ISO, simCountryIso));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_NETWORK_OPERATOR_NAME, networkOperatorName));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_INTERNET_CONN_TYPE, connType));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_BRAND, brand));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_MODEL, model));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_OS_TYPE, os));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_OS_VERSION, osVersion));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_CURIO_SDK_VERSION, sdkVersion));
+			staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_APP_VERSION, appVersionName));
+
+			return staticParams;
+		}
+
+		private void invalidateEncodedStaticParams() {
+			encodedStaticParams = null;
+			codecStaticParams.clear();
+		}
+
 	}
 
 	protected boolean offlineRequestExist() {
@@ -1285,5 +1412,9 @@ public class CurioClient implements INetworkConnectivityChangeListener {
 
 	protected void setParamLoadingFinished(boolean isParamLoadingFinished) {
 		this.isParamLoadingFinished = isParamLoadingFinished;
+
+		if (isParamLoadingFinished) {
+			CurioRequestProcessor.wakeUp();
+		}
 	}
 }
@@ -6,39 +6,60 @@
  */
 package com.turkcell.curio;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.ClientProtocolException;
-import org.apache.http.client.HttpClient;
-import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.impl.client.BasicResponseHandler;
-import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.client.utils.URLEncodedUtils;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.protocol.HTTP;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
 import android.content.Context;
 
+import com.turkcell.curio.CurioClient.StaticFeatureSet;
 import com.turkcell.curio.model.OfflineRequest;
 import com.turkcell.curio.model.OnlineRequest;
+import com.turkcell.curio.model.StoredRequestPage;
+import com.turkcell.curio.utils.CallbackExecutor;
+import com.turkcell.curio.utils.CircuitBreaker;
 import com.turkcell.curio.utils.Constants;
 import com.turkcell.curio.utils.CurioClientSettings;
 import com.turkcell.curio.utils.CurioDBContract.CurioOfflineCacheEntry;
 import com.turkcell.curio.utils.CurioDBContract.CurioPeriodicDispatchEntry;
 import com.turkcell.curio.utils.CurioDBHelper;
+import com.turkcell.curio.utils.CurioHttpClient;
 import com.turkcell.curio.utils.CurioLogger;
+import com.turkcell.curio.utils.CurioUtil;
+import com.turkcell.curio.utils.DispatchWatchdog;
+import com.turkcell.curio.utils.EventRingBuffer;
+import com.turkcell.curio.utils.KeyedDispatchExecutor;
+import com.turkcell.curio.utils.GzipRequestEntity;
+import com.turkcell.curio.utils.JSONFieldExtractor;
 import com.turkcell.curio.utils.NetworkUtil;
+import com.turkcell.curio.utils.ResponseBody;
+import com.turkcell.curio.utils.RetryPolicy;
+import com.turkcell.curio.utils.ServerCapabilities;
+import com.turkcell.curio.utils.StoredRequestEntity;
+import com.turkcell.curio.utils.WaitTimeRecorder;
 
 /**
  * Processor thread for all requests (periodic/offline/online). Requests pushed to queues and then polled and processed from those queues.
@@ -56,26 +77,122 @@ public class CurioRequestProcessor implements Runnable {
 	public static final int SECOND_PRIORITY = 2;
 	public static final int THIRD_PRIORITY = 3;
 
+	/**
+	 * Lock for waking up processor thread. Static since online queues are static and requests can be pushed before processor is created.
+	 */
+	private static final Object wakeUpLock = new Object();
+	private static boolean wakeUpRequested = false;
+
+	private static final AtomicLong spilledRequestCount = new AtomicLong();
+
+	/**
+	 * Wait times of online requests in queues, per priority.
+	 */
+	private static final WaitTimeRecorder[] waitTimeRecorders = new WaitTimeRecorder[] { new WaitTimeRecorder(Constants.WAIT_TIME_SAMPLE_COUNT),
+			new WaitTimeRecorder(Constants.WAIT_TIME_SAMPLE_COUNT), new WaitTimeRecorder(Constants.WAIT_TIME_SAMPLE_COUNT) };
+
 	private boolean isPeriodicDispatchEnabled;
 
 	private long dispatchPeriod;
 
-	private boolean release = false;
+	private volatile boolean release = false;
 
 	private CurioClient clientInstance;
 	private Context context;
-	private long lastPeriodicDispatchCheckTime;
-	private int offlineTryCount = 0;
-	private boolean lowerPriorityQueueProcessing = true;
+	private long nextPeriodicDispatchTime = 0;
+	private long nextOfflineDispatchTime = 0;
+	private boolean wasConnected = true;
+
+	/**
+	 * Retry policies of stored request dispatch paths. Failed online requests are retried via offline cache.
+	 */
+	private final RetryPolicy offlineRetryPolicy = new RetryPolicy();
+	private final RetryPolicy periodicRetryPolicy = new RetryPolicy();
+
+	private int requestDeadline;
+	private volatile boolean lowerPriorityQueueProcessing = true;
+	private volatile long lowerPriorityQueueStopTime = 0;
+
+	private IOnlineRequestScheduler onlineRequestScheduler;
+
+	/**
+	 * Executor for sending online requests concurrently. Null if only one dispatch worker is configured, then requests are sent on processor thread.
+	 */
+	private KeyedDispatchExecutor dispatchExecutor;
+
+	/**
+	 * Session gating results (401 and session start) of requests sent by dispatch workers. They are delivered on processor thread one by one, since their listeners check and
+	 * update session state of the client.
+	 */
+	private final Queue<PendingResult> pendingResults = new ConcurrentLinkedQueue<PendingResult>();
+	private volatile Thread processorThread;
+
+	/**
+	 * Online batching. Second and third priority requests are collected here and sent as a single batch request.
+	 */
+	private boolean isOnlineBatchingEnabled;
+	private long onlineBatchLingerTime;
+	private int onlineBatchMaxCount;
+	private int onlineBatchMaxSize;
+	private final List<OnlineRequest> onlineBatch = new ArrayList<OnlineRequest>();
+	private JSONArray onlineBatchData = new JSONArray();
+	private int onlineBatchSize = 0;
+	private long onlineBatchDispatchTime = 0;
+
+	/**
+	 * Batch compression. Disabled for the rest of the run if server rejects compressed requests.
+	 */
+	private boolean isBatchCompressionEnabled;
+	private int batchCompressionThreshold;
 
 	public CurioRequestProcessor(CurioClient clientInstance) {
 		this.clientInstance = clientInstance;
 		this.context = clientInstance.getContext();
+
+		List<BlockingQueue<OnlineRequest>> queues = new ArrayList<BlockingQueue<OnlineRequest>>();
+		queues.add(firstPriorityQueue);
+		queues.add(secondPriorityQueue);
+		queues.add(thirdPriorityQueue);
+		int[] weights = new int[] { Constants.ONLINE_QUEUE_WEIGHT_FIRST_PRIORITY, Constants.ONLINE_QUEUE_WEIGHT_SECOND_PRIORITY, Constants.ONLINE_QUEUE_WEIGHT_THIRD_PRIORITY };
+		onlineRequestScheduler = new DeficitRoundRobinScheduler(queues, weights, Constants.ONLINE_QUEUE_QUANTUM_IN_BYTES, Constants.ONLINE_QUEUE_TICK_BUDGET_IN_MILLIS,
+				Constants.ONLINE_QUEUE_AGING_THRESHOLD_IN_MILLIS);
 		isPeriodicDispatchEnabled = CurioClientSettings.getInstance(clientInstance.getContext()).isPeriodicDispatchEnabled();
 
 		if (isPeriodicDispatchEnabled) {
 			dispatchPeriod = CurioClientSettings.getInstance(clientInstance.getContext()).getDispatchPeriod();
 		}
+
+		isOnlineBatchingEnabled = CurioClientSettings.getInstance(clientInstance.getContext()).isOnlineBatchingEnabled();
+
+		if (isOnlineBatchingEnabled) {
+			onlineBatchLingerTime = CurioClientSettings.getInstance(clientInstance.getContext()).getOnlineBatchLingerTime();
+			onlineBatchMaxCount = CurioClientSettings.getInstance(clientInstance.getContext()).getOnlineBatchMaxCount();
+			onlineBatchMaxSize = CurioClientSettings.getInstance(clientInstance.getContext()).getOnlineBatchMaxSize();
+		}
+
+		isBatchCompressionEnabled = CurioClientSettings.getInstance(clientInstance.getContext()).isBatchCompressionEnabled();
+		batchCompressionThreshold = CurioClientSettings.getInstance(clientInstance.getContext()).getBatchCompressionThreshold();
+
+		ServerCapabilities.getInstance().setJsonBodyEnabled(CurioClientSettings.getInstance(clientInstance.getContext()).isJsonBodyEnabled());
+		ServerCapabilities.getInstance().setBinaryBodyEnabled(CurioClientSettings.getInstance(clientInstance.getContext()).isBinaryBodyEnabled());
+		ServerCapabilities.getInstance().setSessionEnvelopeEnabled(CurioClientSettings.getInstance(clientInstance.getContext()).isSessionEnvelopeEnabled());
+		CurioLogger.setEventBufferSize(CurioClientSettings.getInstance(clientInstance.getContext()).getEventBufferSize());
+		CallbackExecutor.getInstance().setMainThreadDelivery(CurioClientSettings.getInstance(clientInstance.getContext()).isCallbacksOnMainThread());
+
+		int dispatchWorkerCount = CurioClientSettings.getInstance(clientInstance.getContext()).getDispatchWorkerCount();
+
+		if (dispatchWorkerCount > 1) {
+			dispatchExecutor = new KeyedDispatchExecutor(dispatchWorkerCount, Constants.THREAD_NAME_DISPATCH_WORKER);
+
+			/**
+			 * One connection for each worker, plus one for batch and stored requests sent by processor thread.
+			 */
+			CurioHttpClient.getInstance().setMaxConnectionsPerRoute(dispatchWorkerCount + 1);
+		}
+
+		requestDeadline = CurioClientSettings.getInstance(clientInstance.getContext()).getRequestDeadline();
+		CurioHttpClient.getInstance().setTimeouts(CurioClientSettings.getInstance(clientInstance.getContext()).getConnectTimeout(),
+				CurioClientSettings.getInstance(clientInstance.getContext()).getReadTimeout(), requestDeadline);
 	}
 
 	/**
@@ -98,35 +215,197 @@ public class CurioRequestProcessor implements Runnable {
 			break;
 		}
 
-		queue.add(onlineRequest);
+		if (!queue.offer(onlineRequest)) {
+			spillToOfflineCache(queue, onlineRequest);
+		}
+
+		wakeUp();
+	}
+
+	/**
+	 * Moves pending requests of given full queue and the new request to offline cache, in the order they are created. Offline cache is dispatched before online queues, so moving
+	 * the whole queue keeps the order of requests with the same priority.
+	 * 
+	 * @param queue
+	 * @param onlineRequest
+	 */
+	private static void spillToOfflineCache(BlockingQueue<OnlineRequest> queue, OnlineRequest onlineRequest) {
+		List<OnlineRequest> spilledRequests = new ArrayList<OnlineRequest>();
+
+		/**
+		 * Synchronizing on queue, so concurrent spills of the same queue do not interleave.
+		 */
+		synchronized (queue) {
+			queue.drainTo(spilledRequests);
+			spilledRequests.add(onlineRequest);
+
+			for (OnlineRequest spilledRequest : spilledRequests) {
+				OfflineRequest offlineRequest = new OfflineRequest(spilledRequest.getUrl(), spilledRequest.getParams(), spilledRequest.getCreationTime());
+				CurioClient.getInstance().addRequestToOfflineCache(offlineRequest);
+			}
+		}
+
+		spilledRequestCount.addAndGet(spilledRequests.size());
+
+		CurioLogger.event(EventRingBuffer.EVENT_REQUEST_SPILLED, onlineRequest.getPriority(), spilledRequests.size());
+		CurioLogger.w(TAG, "Online queue with priority {} is full. {} requests moved to offline cache.", onlineRequest.getPriority(), spilledRequests.size());
+	}
+
+	/**
+	 * Gets number of online requests moved to offline cache since their queue was full.
+	 * 
+	 * @return
+	 */
+	public static long getSpilledRequestCount() {
+		return spilledRequestCount.get();
+	}
+
+	/**
+	 * Wakes up processor thread if it is waiting. Should be called whenever there may be something new to process (new request, connectivity change, etc.).
+	 */
+	public static void wakeUp() {
+		synchronized (wakeUpLock) {
+			wakeUpRequested = true;
+			wakeUpLock.notifyAll();
+		}
 	}
 
 	public void run() {
+		processorThread = Thread.currentThread();
+
 		try {
 
 			/**
 			 * Do not start processing requests until parameter loading completely finishes, since we need those params for processing.
 			 */
 			while (!clientInstance.isParamLoadingFinished()) {
-				Thread.sleep(100);
+				waitForWakeUp(0);
 			}
 
+			/**
+			 * Requests marked as in process on a previous run of the application were never acknowledged, so mark them as not in process to send them again.
+			 */
+			CurioDBHelper.getInstance().setInProcessOfflineRequestsAsNotInProcess();
+			CurioDBHelper.getInstance().setInProcessPeriodicRequestsAsNotInProcess();
+
 			while (true) {
-				if (NetworkUtil.getInstance().isConnected()) {
-					processStoredOfflineRequests();
-					if (isPeriodicDispatchEnabled) {
-						processStoredPeriodicDispatchRequests();
+				deliverPendingResults();
+
+				boolean isConnected = NetworkUtil.getInstance().isConnected();
+
+				if (isConnected) {
+					if (!wasConnected) {
+						onConnectivityRegained();
+					}
+
+					/**
+					 * Every request is aborted when its deadline passes, so if no request completes in twice that time, the dispatcher is stuck.
+					 */
+					DispatchWatchdog.getInstance().dispatchStarted(2 * requestDeadline);
+
+					try {
+						processStoredOfflineRequests();
+						if (isPeriodicDispatchEnabled) {
+							processStoredPeriodicDispatchRequests();
+						}
+						checkLowerPriorityQueueStopTime();
+						processOnlineQueues();
+
+						if (onlineBatch.size() > 0 && continueProcessing(SECOND_PRIORITY) && System.currentTimeMillis() >= onlineBatchDispatchTime) {
+							dispatchOnlineBatch();
+						}
+					} finally {
+						DispatchWatchdog.getInstance().dispatchFinished();
 					}
-					processOnlineQueue(firstPriorityQueue, FIRST_PRIORITY);
-					processOnlineQueue(secondPriorityQueue, SECOND_PRIORITY);
-					processOnlineQueue(thirdPriorityQueue, THIRD_PRIORITY);
 				}
 
-				Thread.sleep(100);
+				wasConnected = isConnected;
+				waitForWakeUp(calculateWaitTime());
 			}
 		} catch (InterruptedException e) {
 			CurioLogger.e(TAG, e.getMessage());
+		} finally {
+			/**
+			 * Transport is shared by processor thread and dispatch workers. Workers are drained by awaitDispatchWorkers() first, so no request is in flight when pooled
+			 * connections and connection manager are released.
+			 */
+			awaitDispatchWorkers();
+			CurioHttpClient.shutdown();
+		}
+	}
+
+	/**
+	 * Starts retrying over when device is connected again. First offline dispatch is delayed by a small random time, so devices reconnecting at the same time do not hit the server
+	 * together.
+	 */
+	private void onConnectivityRegained() {
+		offlineRetryPolicy.reset();
+		periodicRetryPolicy.reset();
+		nextOfflineDispatchTime = System.currentTimeMillis() + offlineRetryPolicy.getInitialDelay();
+
+		CurioLogger.d(TAG, "Connectivity regained. Stored offline requests will be sent in {} ms.", nextOfflineDispatchTime - System.currentTimeMillis());
+	}
+
+	/**
+	 * Blocks processor thread until it is woken up or given wait time passes.
+	 * 
+	 * @param waitTime
+	 *            in ms. 0 means wait until woken up, negative means do not wait at all.
+	 * @throws InterruptedException
+	 */
+	private void waitForWakeUp(long waitTime) throws InterruptedException {
+		synchronized (wakeUpLock) {
+			if (!wakeUpRequested && waitTime >= 0) {
+				wakeUpLock.wait(waitTime);
+			}
+			wakeUpRequested = false;
+		}
+	}
+
+	/**
+	 * Calculates how long processor thread can wait until next scheduled work (offline retry or periodic dispatch).
+	 * 
+	 * New requests, connectivity changes and release requests wake the thread up anyway, so if nothing is scheduled thread waits until woken up.
+	 * 
+	 * @return wait time in ms. 0 means wait until woken up, negative means there is work to process right now.
+	 */
+	private long calculateWaitTime() {
+		if (!NetworkUtil.getInstance().isConnected()) {
+			return 0;
+		}
+
+		if (!firstPriorityQueue.isEmpty() || (shouldLowerPriorityQueuesBeProcessed() && (!secondPriorityQueue.isEmpty() || !thirdPriorityQueue.isEmpty()))) {
+			return -1;
+		}
+
+		long nextWorkTime = Long.MAX_VALUE;
+
+		if (clientInstance.offlineRequestExist()) {
+			nextWorkTime = nextOfflineDispatchTime;
+		}
+
+		if (onlineBatch.size() > 0 && shouldLowerPriorityQueuesBeProcessed()) {
+			nextWorkTime = Math.min(nextWorkTime, onlineBatchDispatchTime);
+		}
+
+		if (!shouldLowerPriorityQueuesBeProcessed() && (!secondPriorityQueue.isEmpty() || !thirdPriorityQueue.isEmpty() || onlineBatch.size() > 0)) {
+			nextWorkTime = Math.min(nextWorkTime, lowerPriorityQueueStopTime + Constants.LOWER_PRIORITY_QUEUE_MAX_STOP_TIME_IN_MILLIS);
+		}
+
+		if (isPeriodicDispatchEnabled) {
+			if (release) {
+				return -1;
+			}
+			nextWorkTime = Math.min(nextWorkTime, nextPeriodicDispatchTime);
 		}
+
+		if (nextWorkTime == Long.MAX_VALUE) {
+			return 0;
+		}
+
+		long waitTime = nextWorkTime - System.currentTimeMillis();
+
+		return waitTime > 0 ? waitTime : -1;
 	}
 
 	/**
@@ -145,57 +424,33 @@ public class CurioRequestProcessor implements Runnable {
 
 			CurioLogger.d(TAG, "Time for periodic dispatch! Preparing to dispatch stored activities...");
 
-			String jsonData = CurioDBHelper.getInstance().fetchStoredRequestsFromTable(CurioPeriodicDispatchEntry.TABLE_NAME);
-
-			if (jsonData == null) {
-				return;
-			}
-
-			/**
-			 * Send fetched requests
-			 */
 			String url = CurioClientSettings.getInstance(context).getServerUrl() + Constants.SERVER_URL_SUFFIX_PERIODIC_BATCH;
 
-			CurioLogger.d(TAG, "URL : " + url);
-
-			HttpClient client = new DefaultHttpClient();
-			HttpPost post = new HttpPost(url);
-
-			boolean isRequestSuccessful = false;
+			CurioLogger.d(TAG, "URL : {}", url);
 
-			try {
-				post.setEntity(new UrlEncodedFormEntity(generatePairsForPeriodicDispatch(jsonData)));
-				HttpResponse httpResponse = client.execute(post);
+			CircuitBreaker circuitBreaker = CircuitBreaker.getInstance(url);
 
-				int statusCode = httpResponse.getStatusLine().getStatusCode();
-
-				CurioLogger.d(TAG, "Periodic batch request sent, and response status code is " + statusCode);
-
-				if (statusCode == HttpStatus.SC_OK) {
-					isRequestSuccessful = true;
-				} else if (statusCode == HttpStatus.SC_UNAUTHORIZED) {
-					/**
-					 * If http status code is 401, this means session has been timed out, so start a new session By setting sessionCode to null, we can ensure to generate a new session code.
-					 */
-					clientInstance.setSessionCode(null);
-					clientInstance.startSession(true);
+			/**
+			 * Send stored requests page by page, and stop on first failure. Remaining pages will be retried with backoff or sent on next dispatch.
+			 */
+			StoredRequestPage page;
+
+			while ((page = CurioDBHelper.getInstance().claimStoredRequestPage(CurioPeriodicDispatchEntry.TABLE_NAME, Constants.STORED_REQUEST_PAGE_MAX_ROW_COUNT,
+					Constants.STORED_REQUEST_PAGE_MAX_SIZE_IN_BYTES)) != null) {
+				if (!circuitBreaker.allowRequest()) {
+					CurioLogger.d(TAG, "Circuit breaker is open for periodic dispatch. Stored requests will be sent later.");
+					CurioDBHelper.getInstance().releaseStoredRequestPage(page);
+					schedulePeriodicDispatchRetry(circuitBreaker);
+					break;
 				}
 
-			} catch (Exception e) {
-				CurioLogger.e(TAG, e.getMessage(), e);
-				isRequestSuccessful = false;
+				if (!dispatchStoredPeriodicDispatchRequestPage(url, page, circuitBreaker)) {
+					schedulePeriodicDispatchRetry(circuitBreaker);
+					break;
+				}
 			}
 
-			client.getConnectionManager().closeExpiredConnections();
-
-			/**
-			 * If dispatching successful, delete sent request records from DB. If not, keep them on DB as not in process, so they can be sent on next dispatch.
-			 */
-			if (isRequestSuccessful) {
-				CurioDBHelper.getInstance().deleteInProcessPeriodicRequests();
-			} else {
-				CurioDBHelper.getInstance().setInProcessPeriodicRequestsAsNotInProcess();
-			}
+			CurioHttpClient.getInstance().closeExpiredConnections();
 
 			/**
 			 * If exiting from application and release command sent, end session.
@@ -209,8 +464,112 @@ public class CurioRequestProcessor implements Runnable {
 			 * If no network is available, just set last successful dispatch time to reschedule periodic dispatch check. And when the next dispatch time comes, if the network is available, stored
 			 * requests will be sent.
 			 */
-			CurioLogger.d(TAG, "No network connection available. Periodic dispatch check is aborted. Will check in " + dispatchPeriod + " min.");
+			CurioLogger.d(TAG, "No network connection available. Periodic dispatch check is aborted. Will check in {} min.", dispatchPeriod);
+		}
+	}
+
+	/**
+	 * Sends given page of stored periodic dispatch requests.
+	 * 
+	 * @param url
+	 * @param page
+	 * @param circuitBreaker
+	 * @return true if page is sent successfully or dropped, so the next page can be sent.
+	 */
+	private boolean dispatchStoredPeriodicDispatchRequestPage(String url, StoredRequestPage page, CircuitBreaker circuitBreaker) {
+		boolean isRequestSuccessful = false;
+		int rejectedStatusCode = 0;
+
+		try {
+			final List<NameValuePair> staticPairs = generateStaticPairsForPeriodicDispatch();
+			final StoredRequestPage storedRequestPage = page;
+
+			HttpResponse httpResponse = executeBatchRequest(url, new BatchEntityFactory() {
+				@Override
+				public HttpEntity createEntity(IPayloadCodec codec) {
+					return new StoredRequestEntity(null, staticPairs, Constants.HTTP_PARAM_JSON_DATA, storedRequestPage, codec);
+				}
+			}, page.getDataLength());
+
+			int statusCode = httpResponse.getStatusLine().getStatusCode();
+			CurioHttpClient.consumeContent(httpResponse);
+
+			CurioLogger.event(EventRingBuffer.EVENT_PERIODIC_PAGE_SENT, page.getRowCount(), statusCode);
+			CurioLogger.d(TAG, "Periodic batch request sent with {} requests, and response status code is {}", page.getRowCount(), statusCode);
+
+			if (CircuitBreaker.isServerFailure(statusCode)) {
+				circuitBreaker.recordFailure();
+			} else {
+				circuitBreaker.recordSuccess();
+			}
+
+			if (statusCode == HttpStatus.SC_OK) {
+				isRequestSuccessful = true;
+			} else if (statusCode == HttpStatus.SC_UNAUTHORIZED) {
+				/**
+				 * If http status code is 401, this means session has been timed out, so start a new session By setting sessionCode to null, we can ensure to generate a new session code.
+				 */
+				clientInstance.setSessionCode(null);
+				clientInstance.startSession(true);
+			} else if (CircuitBreaker.isPermanentFailure(statusCode)) {
+				rejectedStatusCode = statusCode;
+			}
+
+		} catch (IOException e) {
+			CurioLogger.e(TAG, e.getMessage(), e);
+			circuitBreaker.recordFailure();
+			isRequestSuccessful = false;
+		} catch (Exception e) {
+			CurioLogger.e(TAG, e.getMessage(), e);
+			circuitBreaker.releaseTrial();
+			isRequestSuccessful = false;
+		}
+
+		/**
+		 * If dispatching successful, delete sent request records from DB. If not, keep them on DB as not in process, so they can be sent on next dispatch.
+		 */
+		if (isRequestSuccessful) {
+			periodicRetryPolicy.reset();
+			CurioDBHelper.getInstance().deleteStoredRequestPage(page);
+		} else if (rejectedStatusCode != 0) {
+			dropRejectedStoredRequestPage(page, rejectedStatusCode);
+			return true;
+		} else {
+			CurioDBHelper.getInstance().releaseStoredRequestPage(page);
+		}
+
+		return isRequestSuccessful;
+	}
+
+	/**
+	 * Deletes given page of stored requests which is rejected by server with a client error (4xx), since it would be rejected again on every retry and block the following pages.
+	 * 
+	 * @param page
+	 * @param statusCode
+	 */
+	private void dropRejectedStoredRequestPage(StoredRequestPage page, int statusCode) {
+		CurioLogger.w(TAG, "Server rejected {} stored requests with status code {}. Requests are dropped, since they would be rejected again.", page.getRowCount(), statusCode);
+		CurioLogger.event(EventRingBuffer.EVENT_PAGE_DROPPED, page.getRowCount(), statusCode);
+		CurioDBHelper.getInstance().deleteStoredRequestPage(page);
+	}
+
+	/**
+	 * Schedules retry of failed periodic dispatch with backoff, if it is earlier than the next periodic dispatch.
+	 * 
+	 * @param circuitBreaker
+	 */
+	private void schedulePeriodicDispatchRetry(CircuitBreaker circuitBreaker) {
+		long delay = periodicRetryPolicy.nextRetryDelay();
+
+		if (delay < 0) {
+			CurioLogger.d(TAG, "Periodic dispatch retries exceeded max. elapsed time. Will try again on next dispatch period.");
+			return;
 		}
+
+		long retryTime = Math.max(System.currentTimeMillis() + delay, circuitBreaker.getRetryTime());
+		nextPeriodicDispatchTime = Math.min(nextPeriodicDispatchTime, retryTime);
+
+		CurioLogger.d(TAG, "Periodic dispatch will be retried in {} ms.", nextPeriodicDispatchTime - System.currentTimeMillis());
 	}
 
 	/**
@@ -220,8 +579,8 @@ public class CurioRequestProcessor implements Runnable {
 	 */
 	private boolean checkPeriodicDispatchTime() {
 		long now = System.currentTimeMillis();
-		if ((now - lastPeriodicDispatchCheckTime) > (dispatchPeriod * 60 * 1000)) {
-			lastPeriodicDispatchCheckTime = now;
+		if (now >= nextPeriodicDispatchTime) {
+			nextPeriodicDispatchTime = now + (dispatchPeriod * 60 * 1000);
 			return true;
 		}
 		return false;
@@ -235,187 +594,605 @@ public class CurioRequestProcessor implements Runnable {
 			return;
 		}
 
-		String jsonData = CurioDBHelper.getInstance().fetchStoredRequestsFromTable(CurioOfflineCacheEntry.TABLE_NAME);
-
-		if (jsonData == null) {
-			CurioLogger.d(TAG, "There are no stored offline requests. Aborting offline request dispatch.");
-			clientInstance.setOfflineRequestExist(false);
+		/**
+		 * Wait for retry time of last failed dispatch.
+		 */
+		if (System.currentTimeMillis() < nextOfflineDispatchTime) {
 			return;
 		}
 
+		String url = CurioClientSettings.getInstance(context).getServerUrl() + Constants.SERVER_URL_SUFFIX_OFFLINE_CACHE;
+
+		CurioLogger.d(TAG, "URL : {}", url);
+
+		CircuitBreaker circuitBreaker = CircuitBreaker.getInstance(url);
+
 		/**
-		 * Send fetched requests
+		 * Send stored requests page by page, each page is acknowledged on its own.
 		 */
-		String url = CurioClientSettings.getInstance(context).getServerUrl() + Constants.SERVER_URL_SUFFIX_OFFLINE_CACHE;
+		while (true) {
+			/**
+			 * Clear the flag before claiming, so a request stored by DB processor in the meantime sets it again.
+			 */
+			clientInstance.setOfflineRequestExist(false);
 
-		CurioLogger.d(TAG, "URL : " + url);
+			StoredRequestPage page = CurioDBHelper.getInstance().claimStoredRequestPage(CurioOfflineCacheEntry.TABLE_NAME, Constants.STORED_REQUEST_PAGE_MAX_ROW_COUNT,
+					Constants.STORED_REQUEST_PAGE_MAX_SIZE_IN_BYTES);
 
-		HttpClient client = new DefaultHttpClient();
-		HttpPost post = new HttpPost(url);
+			if (page == null) {
+				CurioLogger.d(TAG, "There are no stored offline requests. Aborting offline request dispatch.");
+				break;
+			}
+
+			if (!circuitBreaker.allowRequest()) {
+				CurioLogger.d(TAG, "Circuit breaker is open for offline requests. Stored requests will be sent later.");
+				CurioDBHelper.getInstance().releaseStoredRequestPage(page);
+				clientInstance.setOfflineRequestExist(true);
+				nextOfflineDispatchTime = circuitBreaker.getRetryTime();
+				break;
+			}
+
+			if (!dispatchStoredOfflineRequestPage(url, page, circuitBreaker)) {
+				clientInstance.setOfflineRequestExist(true);
+				scheduleOfflineDispatchRetry(circuitBreaker);
+				break;
+			}
+		}
+
+		CurioHttpClient.getInstance().closeExpiredConnections();
 
-		boolean isRequestSuccessful = true;
+		clientInstance.setOfflineRequestDispatchAsFinished();
+	}
+
+	/**
+	 * Sends given page of stored offline requests. Page is kept on DB if it cannot be sent.
+	 * 
+	 * @param url
+	 * @param page
+	 * @param circuitBreaker
+	 * @return true if page is sent successfully or dropped, so the next page can be sent.
+	 */
+	private boolean dispatchStoredOfflineRequestPage(String url, StoredRequestPage page, CircuitBreaker circuitBreaker) {
+		boolean isRequestSuccessful = false;
+		int rejectedStatusCode = 0;
 
 		try {
-			post.setEntity(new UrlEncodedFormEntity(generatePairsForOfflineRequest(jsonData)));
-			HttpResponse httpResponse = client.execute(post);
+			final StoredRequestPage storedRequestPage = page;
+
+			HttpResponse httpResponse = executeBatchRequest(url, new BatchEntityFactory() {
+				@Override
+				public HttpEntity createEntity(IPayloadCodec codec) throws IOException {
+					StaticFeatureSet staticFeatureSet = clientInstance.getStaticFeatureSet();
+					byte[] staticParams = codec != null ? staticFeatureSet.getEncodedStaticParams(codec) : staticFeatureSet.getEncodedStaticParams();
+					return new StoredRequestEntity(staticParams, null, Constants.HTTP_PARAM_JSON_DATA, storedRequestPage, codec);
+				}
+			}, page.getDataLength());
 
 			int statusCode = httpResponse.getStatusLine().getStatusCode();
-			CurioLogger.d(TAG, "Offline cache request sent, and response status code is " + statusCode);
+			CurioLogger.event(EventRingBuffer.EVENT_OFFLINE_PAGE_SENT, page.getRowCount(), statusCode);
+			CurioLogger.d(TAG, "Offline cache request sent with {} requests, and response status code is {}", page.getRowCount(), statusCode);
 
-			String response = null;
+			if (CircuitBreaker.isServerFailure(statusCode)) {
+				circuitBreaker.recordFailure();
+			} else {
+				circuitBreaker.recordSuccess();
+			}
 
 			if (statusCode == HttpStatus.SC_OK) {
-				offlineTryCount = 0;
+				isRequestSuccessful = true;
 				release = false;
-				ResponseHandler<String> responseHandler = new BasicResponseHandler();
-				response = responseHandler.handleResponse(httpResponse);
 
-				CurioLogger.d(TAG, "OFFLINE REQ RESPONSE: " + response);
+				/**
+				 * Only session code is needed from offline response, so it is extracted while streaming instead of parsing whole response.
+				 */
+				String sessionCode;
 
-				JSONObject jsonResult = null;
+				try {
+					sessionCode = JSONFieldExtractor.extractString(httpResponse.getEntity() == null ? null : httpResponse.getEntity().getContent(), Constants.JSON_NODE_SESSION_CODE);
+				} finally {
+					CurioHttpClient.consumeContent(httpResponse);
+				}
 
-				if (response != null && !(response.trim().length() == 0)) {
-					try {
-						jsonResult = new JSONObject(response);
-						String sessionCode = jsonResult.getString(Constants.JSON_NODE_SESSION_CODE);
+				CurioLogger.d(TAG, "OFFLINE REQ RESPONSE session code: {}", sessionCode);
 
-						if (sessionCode != null && !(response.trim().length() == 0)) {
-							clientInstance.setSessionCode(sessionCode);
-						}
-					} catch (JSONException e) {
-						e.printStackTrace();
-					}
+				if (sessionCode != null && !(sessionCode.trim().length() == 0)) {
+					clientInstance.setSessionCode(sessionCode);
 				}
 			} else {
-				offlineTryCount++;
-				CurioLogger.d(TAG, "Offline request has been unsuccessful. Try count is " + offlineTryCount);
+				CurioHttpClient.consumeContent(httpResponse);
+				CurioLogger.d(TAG, "Offline request has been unsuccessful. Try count is {}", offlineRetryPolicy.getAttemptCount() + 1);
 
-				if (offlineTryCount > 4) {
-					isRequestSuccessful = true; // Do not try anymore.
-				} else {
-					isRequestSuccessful = false;
+				if (CircuitBreaker.isPermanentFailure(statusCode)) {
+					rejectedStatusCode = statusCode;
 				}
 			}
+		} catch (IOException e) {
+			CurioLogger.e(TAG, e.getMessage(), e);
+			circuitBreaker.recordFailure();
+			CurioLogger.e(TAG, "Offline request has been unsuccessful. Try count is {}", offlineRetryPolicy.getAttemptCount() + 1);
 		} catch (Exception e) {
 			CurioLogger.e(TAG, e.getMessage(), e);
-			
-			offlineTryCount++;
-			CurioLogger.e(TAG, "Offline request has been unsuccessful. Try count is " + offlineTryCount);
-			
-			if (offlineTryCount > 4) {
-				isRequestSuccessful = true; // Do not try anymore.
-			} else {
-				isRequestSuccessful = false;
-			}
+			circuitBreaker.releaseTrial();
+			CurioLogger.e(TAG, "Offline request has been unsuccessful. Try count is {}", offlineRetryPolicy.getAttemptCount() + 1);
 		}
 
-		client.getConnectionManager().closeExpiredConnections();
-
 		/**
-		 * If dispatching successful, delete sent request records from DB.
+		 * If dispatching successful, delete sent request records from DB. If not, keep them on DB as not in process, so they can be retried.
 		 */
 		if (isRequestSuccessful) {
-			CurioDBHelper.getInstance().deleteInProcessOfflineRequests();
+			offlineRetryPolicy.reset();
+			nextOfflineDispatchTime = 0;
+			CurioDBHelper.getInstance().deleteStoredRequestPage(page);
+		} else if (rejectedStatusCode != 0) {
+			dropRejectedStoredRequestPage(page, rejectedStatusCode);
+			return true;
 		} else {
-			CurioDBHelper.getInstance().setInProcessOfflineRequestsAsNotInProcess();
+			CurioDBHelper.getInstance().releaseStoredRequestPage(page);
 		}
 
-		clientInstance.setOfflineRequestDispatchAsFinished();
+		return isRequestSuccessful;
 	}
 
 	/**
-	 * Generates name value pair list from given json data for offline requests.
+	 * Schedules retry of failed offline dispatch with backoff. If retries exceed max. elapsed time, stored requests are kept and retried with max. delay until a dispatch
+	 * succeeds or connectivity is regained, since a connectivity change may never come if device stays connected.
 	 * 
-	 * @param trackingCode
-	 * @param visitorCode
-	 * @param sessionCode
-	 * @param sessionTimeout
-	 * @param json
-	 * @return
+	 * @param circuitBreaker
 	 */
-	private List<? extends NameValuePair> generatePairsForOfflineRequest(String jsonData) {
-		List<NameValuePair> paramList = new ArrayList<NameValuePair>();
-
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_API_KEY, clientInstance.getStaticFeatureSet().getApiKey()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_SESSION_TIMEOUT, Integer.toString(clientInstance.getStaticFeatureSet().getSessionTimeout())));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_VISITOR_CODE, clientInstance.getStaticFeatureSet().getVisitorCode()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_TRACKING_CODE, clientInstance.getStaticFeatureSet().getTrackingCode()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_SCREEN_WIDTH, clientInstance.getStaticFeatureSet().getDeviceScreenWidth()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_SCREEN_HEIGHT, clientInstance.getStaticFeatureSet().getDeviceScreenHeight()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_ACTIVITY_WIDTH, clientInstance.getStaticFeatureSet().getActivityWidth()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_ACTIVITY_HEIGHT, clientInstance.getStaticFeatureSet().getActivityHeight()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_LANG, clientInstance.getStaticFeatureSet().getLanguage()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_SIM_OPERATOR, clientInstance.getStaticFeatureSet().getSimOperator()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_SIM_COUNTRY_ISO, clientInstance.getStaticFeatureSet().getSimCountryIso()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_NETWORK_OPERATOR_NAME, clientInstance.getStaticFeatureSet().getNetworkOperatorName()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_INTERNET_CONN_TYPE, clientInstance.getStaticFeatureSet().getConnType()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_BRAND, clientInstance.getStaticFeatureSet().getBrand()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_MODEL, clientInstance.getStaticFeatureSet().getModel()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_OS_TYPE, clientInstance.getStaticFeatureSet().getOs()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_OS_VERSION, clientInstance.getStaticFeatureSet().getOsVersion()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_CURIO_SDK_VERSION, clientInstance.getStaticFeatureSet().getSdkVersion()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_APP_VERSION, clientInstance.getStaticFeatureSet().getAppVersionName()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_JSON_DATA, jsonData));
+	private void scheduleOfflineDispatchRetry(CircuitBreaker circuitBreaker) {
+		long delay = offlineRetryPolicy.nextRetryDelay();
 
-		for (NameValuePair pair : paramList) {
-			CurioLogger.d(TAG, "PARAM --> " + pair.getName() + " : " + pair.getValue());
+		if (delay < 0) {
+			delay = offlineRetryPolicy.getMaxDelay();
+			CurioLogger.w(TAG, "Offline request retries exceeded max. elapsed time. Will keep retrying every {} ms.", delay);
 		}
-		return paramList;
+
+		nextOfflineDispatchTime = Math.max(System.currentTimeMillis() + delay, circuitBreaker.getRetryTime());
+
+		CurioLogger.d(TAG, "Offline request dispatch will be retried in {} ms.", nextOfflineDispatchTime - System.currentTimeMillis());
 	}
 
 	/**
-	 * Generates name value pair list from given json data for periodic dispatch requests.
+	 * Creates entity of a batch request.
+	 */
+	private interface BatchEntityFactory {
+		/**
+		 * @param codec
+		 *            codec of the entity, or null if entity should be form encoded.
+		 * @return
+		 * @throws IOException
+		 */
+		HttpEntity createEntity(IPayloadCodec codec) throws IOException;
+	}
+
+	/**
+	 * Posts a batch request (offline cache, periodic dispatch or online batch) to given url. Request body is written by a payload codec (binary or JSON) if server supports it, form
+	 * encoded otherwise.
 	 * 
-	 * @param trackingCode
-	 * @param visitorCode
-	 * @param sessionCode
-	 * @param sessionTimeout
-	 * @param json
+	 * If server responds with 415 (Unsupported Media Type) to a codec body, that codec is disabled and the request is sent again with the next supported codec or form encoded.
+	 * 
+	 * @param url
+	 * @param entityFactory
+	 * @param dataLength
 	 * @return
+	 * @throws IOException
 	 */
-	private List<? extends NameValuePair> generatePairsForPeriodicDispatch(String jsonData) {
-		List<NameValuePair> paramList = new ArrayList<NameValuePair>();
+	private HttpResponse executeBatchRequest(String url, BatchEntityFactory entityFactory, int dataLength) throws IOException {
+		IPayloadCodec codec;
 
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_SESSION_CODE, clientInstance.getStaticFeatureSet().getSessionCode()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_SESSION_TIMEOUT, Integer.toString(clientInstance.getStaticFeatureSet().getSessionTimeout())));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_VISITOR_CODE, clientInstance.getStaticFeatureSet().getVisitorCode()));
-		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_TRACKING_CODE, clientInstance.getStaticFeatureSet().getTrackingCode()));
+		while ((codec = ServerCapabilities.getInstance().createPayloadCodec()) != null) {
+			boolean wasCompressionEnabled = isBatchCompressionEnabled;
+			HttpResponse httpResponse = executeBatchRequest(url, entityFactory.createEntity(codec), dataLength);
+
+			if (httpResponse.getStatusLine().getStatusCode() != HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE) {
+				return httpResponse;
+			}
+
+			CurioHttpClient.consumeContent(httpResponse);
+			ServerCapabilities.getInstance().setPayloadCodecRejected(codec);
+
+			/**
+			 * Uncompressed codec body is rejected too, so 415 was caused by codec, not compression.
+			 */
+			isBatchCompressionEnabled = wasCompressionEnabled;
+		}
+
+		return executeBatchRequest(url, entityFactory.createEntity(null), dataLength);
+	}
+
+	/**
+	 * Posts given batch request entity (offline cache, periodic dispatch or online batch) to given url. Entity is compressed if batch compression is enabled and request data is not smaller
+	 * than compression threshold.
+	 * 
+	 * If server responds with 415 (Unsupported Media Type) to a compressed request, compression is disabled and the request is sent again uncompressed.
+	 * 
+	 * @param url
+	 * @param entity
+	 * @param dataLength
+	 * @return
+	 * @throws IOException
+	 */
+	private HttpResponse executeBatchRequest(String url, HttpEntity entity, int dataLength) throws IOException {
+		boolean compress = isBatchCompressionEnabled && dataLength >= batchCompressionThreshold;
+
+		HttpPost post = new HttpPost(url);
+		post.setEntity(compress ? new GzipRequestEntity(entity) : entity);
+		HttpResponse httpResponse = CurioHttpClient.getInstance().execute(post);
+
+		if (compress && httpResponse.getStatusLine().getStatusCode() == HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE) {
+			CurioHttpClient.consumeContent(httpResponse);
+			CurioLogger.w(TAG, "Server does not accept compressed requests. Batch compression is disabled, request will be sent uncompressed.");
+			isBatchCompressionEnabled = false;
+
+			post = new HttpPost(url);
+			post.setEntity(entity);
+			httpResponse = CurioHttpClient.getInstance().execute(post);
+		}
+
+		return httpResponse;
+	}
+
+	/**
+	 * Generates entity from given events with given codec for online batch requests.
+	 * 
+	 * @param codec
+	 * @param events
+	 * @return
+	 * @throws IOException
+	 */
+	private HttpEntity generateCodecEntityForBatch(IPayloadCodec codec, JSONArray events) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+		codec.startPayload(body, codec.encodeStaticParams(generateStaticPairsForPeriodicDispatch()));
+
+		String sessionCode = null;
+
+		for (int i = 0; i < events.length(); i++) {
+			JSONObject event = events.optJSONObject(i);
+
+			/**
+			 * Session code is written once per group of consecutive events of the same session. Event is restored after serialization, since batch may be encoded again.
+			 */
+			Object eventSessionCode = event.remove(Constants.JSON_NODE_SESSION_CODE);
+
+			if (i == 0 || (sessionCode == null ? eventSessionCode != null : !sessionCode.equals(eventSessionCode))) {
+				sessionCode = eventSessionCode == null ? null : eventSessionCode.toString();
+				codec.startSession(sessionCode);
+			}
+
+			codec.writeEvent(event.toString());
+
+			if (eventSessionCode != null) {
+				try {
+					event.put(Constants.JSON_NODE_SESSION_CODE, eventSessionCode);
+				} catch (JSONException e) {
+					CurioLogger.e(TAG, e.getMessage(), e);
+				}
+			}
+		}
+
+		codec.endPayload();
+
+		ByteArrayEntity entity = new ByteArrayEntity(body.toByteArray());
+		entity.setContentType(codec.getContentType());
+		return entity;
+	}
+
+	/**
+	 * Generates name value pair list from given json data for periodic dispatch requests.
+	 * 
+	 * @param jsonData
+	 * @return
+	 */
+	private List<? extends NameValuePair> generatePairsForPeriodicDispatch(String jsonData) {
+		List<NameValuePair> paramList = generateStaticPairsForPeriodicDispatch();
 		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_JSON_DATA, jsonData));
+		CurioLogger.d(TAG, "PARAM --> {} : {}", Constants.HTTP_PARAM_JSON_DATA, jsonData);
+		return paramList;
+	}
 
-		for (NameValuePair pair : paramList) {
-			CurioLogger.d(TAG, "PARAM --> " + pair.getName() + " : " + pair.getValue());
+	/**
+	 * Generates name value pair list of static parameters for periodic dispatch requests.
+	 * 
+	 * @return
+	 */
+	private List<NameValuePair> generateStaticPairsForPeriodicDispatch() {
+		List<NameValuePair> paramList = new ArrayList<NameValuePair>();
+
+		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_SESSION_CODE, clientInstance.getStaticFeatureSet().getSessionCode()));
+		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_SESSION_TIMEOUT, Integer.toString(clientInstance.getStaticFeatureSet().getSessionTimeout())));
+		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_VISITOR_CODE, clientInstance.getStaticFeatureSet().getVisitorCode()));
+		paramList.add(new BasicNameValuePair(Constants.HTTP_PARAM_TRACKING_CODE, clientInstance.getStaticFeatureSet().getTrackingCode()));
+
+		if (CurioLogger.isDebugEnabled()) {
+			for (NameValuePair pair : paramList) {
+				CurioLogger.d(TAG, "PARAM --> {} : {}", pair.getName(), pair.getValue());
+			}
 		}
 		return paramList;
 	}
 
 	/**
-	 * Processes online request queue.
+	 * Processes online request queues. Next request is selected by online request scheduler, until queues are empty or scheduler's budget for this pass is exhausted.
+	 */
+	private void processOnlineQueues() {
+		onlineRequestScheduler.startTick();
+
+		OnlineRequest onlineRequest;
+
+		while ((onlineRequest = onlineRequestScheduler.next(shouldLowerPriorityQueuesBeProcessed())) != null) {
+			waitTimeRecorders[onlineRequest.getPriority() - 1].record(System.currentTimeMillis() - onlineRequest.getCreationTime());
+			processOnlineRequest(onlineRequest);
+		}
+
+		CurioLogger.v(TAG, "Processing of online queues is finished. Queue sizes are {}, {}, {}", firstPriorityQueue.size(), secondPriorityQueue.size(), thirdPriorityQueue.size());
+	}
+
+	/**
+	 * Processes given online request. Request is either added to online batch or sent immediately.
 	 * 
-	 * @param queue
-	 * @param priority 
+	 * @param onlineRequest
 	 */
-	private void processOnlineQueue(BlockingQueue<OnlineRequest> queue, int priority) {
-		OnlineRequest onlineRequest = null;
+	private void processOnlineRequest(OnlineRequest onlineRequest) {
+		if (isOnlineBatchingEnabled && onlineRequest.getPriority() > FIRST_PRIORITY && isBatchable(onlineRequest)) {
+			addToOnlineBatch(onlineRequest);
+			return;
+		}
 
-		if (queue.size() > 0) {
-			while (continueProcessing(priority)) {
-				onlineRequest = queue.poll();
+		/**
+		 * Send collected batch first to keep the order of requests.
+		 */
+		if (onlineBatch.size() > 0) {
+			dispatchOnlineBatch();
+		}
 
-				if (onlineRequest == null) {
-					break;
+		if (dispatchExecutor == null) {
+			sendOnlineRequest(onlineRequest);
+			return;
+		}
+
+		/**
+		 * Session start/end requests are barriers, they are sent after all previous requests complete and before any following request.
+		 */
+		if (isDispatchBarrier(onlineRequest)) {
+			awaitDispatchWorkers();
+			sendOnlineRequest(onlineRequest);
+			return;
+		}
+
+		final OnlineRequest request = onlineRequest;
+
+		try {
+			dispatchExecutor.execute(getDispatchKey(onlineRequest), new Runnable() {
+				@Override
+				public void run() {
+					sendOnlineRequest(request);
 				}
+			});
+		} catch (InterruptedException e) {
+			CurioLogger.e(TAG, e.getMessage());
+			Thread.currentThread().interrupt();
+			addFailedOnlineRequestToOfflineCache(onlineRequest);
+		}
+	}
 
-				try {
-					sendRequest(onlineRequest);
-				} catch (Exception e) {
-					CurioLogger.e(TAG, "" + e.getMessage(), e);
-					if (e instanceof IOException) {
-						addFailedOnlineRequestToOfflineCache(onlineRequest);
-					}
+	/**
+	 * Checks if given request should be sent only when no other request is in progress.
+	 * 
+	 * @param onlineRequest
+	 * @return
+	 */
+	private boolean isDispatchBarrier(OnlineRequest onlineRequest) {
+		String url = onlineRequest.getUrl();
+		return url.endsWith(Constants.SERVER_URL_SUFFIX_SESSION_START) || url.endsWith(Constants.SERVER_URL_SUFFIX_SESSION_END);
+	}
+
+	/**
+	 * Gets ordering key of given request. Requests with the same key are sent in order. Screen start/end requests of the same screen share hit code, other requests are ordered by
+	 * type (URL).
+	 * 
+	 * @param onlineRequest
+	 * @return
+	 */
+	private String getDispatchKey(OnlineRequest onlineRequest) {
+		Object hitCode = onlineRequest.getParams().get(Constants.HTTP_PARAM_HIT_CODE);
+
+		if (hitCode != null) {
+			return hitCode.toString();
+		}
+		return onlineRequest.getUrl();
+	}
+
+	/**
+	 * Waits until all requests sent by dispatch workers complete.
+	 */
+	private void awaitDispatchWorkers() {
+		if (dispatchExecutor == null) {
+			return;
+		}
+
+		try {
+			dispatchExecutor.awaitIdle();
+		} catch (InterruptedException e) {
+			CurioLogger.e(TAG, e.getMessage());
+			Thread.currentThread().interrupt();
+		}
+
+		deliverPendingResults();
+	}
+
+	/**
+	 * Sends given online request. If request cannot be sent, it is added to offline cache. May be called from dispatch worker threads.
+	 * 
+	 * @param onlineRequest
+	 */
+	private void sendOnlineRequest(OnlineRequest onlineRequest) {
+		CircuitBreaker circuitBreaker = CircuitBreaker.getInstance(onlineRequest.getUrl());
+
+		if (!circuitBreaker.allowRequest()) {
+			CurioLogger.d(TAG, "Circuit breaker is open for {}", onlineRequest.getUrl());
+			addFailedOnlineRequestToOfflineCache(onlineRequest);
+			return;
+		}
+
+		try {
+			int statusCode = sendRequest(onlineRequest);
+
+			if (CircuitBreaker.isServerFailure(statusCode)) {
+				circuitBreaker.recordFailure();
+			} else {
+				circuitBreaker.recordSuccess();
+			}
+
+			/**
+			 * Session is over, so keep-alive connections are not held open until they expire. Session end is a dispatch barrier, so no other request is in progress.
+			 */
+			if (onlineRequest.getUrl().endsWith(Constants.SERVER_URL_SUFFIX_SESSION_END)) {
+				CurioHttpClient.getInstance().closeIdleConnections();
+			}
+		} catch (IOException e) {
+			CurioLogger.e(TAG, "{}", e.getMessage(), e);
+			CurioLogger.event(EventRingBuffer.EVENT_REQUEST_FAILED, onlineRequest.getPriority(), 0);
+			circuitBreaker.recordFailure();
+			addFailedOnlineRequestToOfflineCache(onlineRequest);
+		} catch (Exception e) {
+			CurioLogger.e(TAG, "{}", e.getMessage(), e);
+			CurioLogger.event(EventRingBuffer.EVENT_REQUEST_FAILED, onlineRequest.getPriority(), 0);
+			circuitBreaker.releaseTrial();
+		}
+	}
+
+	/**
+	 * Checks if given online request can be sent within a batch request. Only screen start/end and event requests can be batched.
+	 * 
+	 * @param onlineRequest
+	 * @return
+	 */
+	private boolean isBatchable(OnlineRequest onlineRequest) {
+		String url = onlineRequest.getUrl();
+		return url.endsWith(Constants.SERVER_URL_SUFFIX_SCREEN_START) || url.endsWith(Constants.SERVER_URL_SUFFIX_SCREEN_END) || url.endsWith(Constants.SERVER_URL_SUFFIX_SEND_EVENT);
+	}
+
+	/**
+	 * Adds given online request to current online batch. Batch is dispatched when linger time passes or max. count/size is reached.
+	 * 
+	 * @param onlineRequest
+	 */
+	private void addToOnlineBatch(OnlineRequest onlineRequest) {
+		JSONObject json = new JSONObject();
+
+		try {
+			for (Map.Entry<String, Object> entry : onlineRequest.getParams().entrySet()) {
+				json.put(entry.getKey(), entry.getValue());
+			}
+
+			/**
+			 * Adding timestamp and request type which are required at server.
+			 */
+			json.put(Constants.JSON_NODE_TIMESTAMP, onlineRequest.getCreationTime());
+			json.put(Constants.JSON_NODE_TYPE, CurioUtil.getRequestType(onlineRequest.getUrl()));
+		} catch (JSONException e) {
+			CurioLogger.e(TAG, e.getMessage(), e);
+		}
+
+		int requestSize = json.toString().length();
+
+		/**
+		 * If this request does not fit into current batch, dispatch current batch first.
+		 */
+		if (onlineBatch.size() > 0 && onlineBatchSize + requestSize > onlineBatchMaxSize) {
+			dispatchOnlineBatch();
+		}
+
+		if (onlineBatch.size() == 0) {
+			onlineBatchDispatchTime = System.currentTimeMillis() + onlineBatchLingerTime;
+		}
+
+		onlineBatch.add(onlineRequest);
+		onlineBatchData.put(json);
+		onlineBatchSize += requestSize;
+
+		CurioLogger.d(TAG, "Online request added to batch. Batch has {} requests, {} bytes.", onlineBatch.size(), onlineBatchSize);
+
+		if (onlineBatch.size() >= onlineBatchMaxCount || onlineBatchSize >= onlineBatchMaxSize) {
+			dispatchOnlineBatch();
+		}
+	}
+
+	/**
+	 * Sends collected online requests as a single batch request, and delivers batch result to callback of each request.
+	 */
+	private void dispatchOnlineBatch() {
+		/**
+		 * Batch may contain requests related to requests in progress, so it is a barrier too.
+		 */
+		awaitDispatchWorkers();
+
+		List<OnlineRequest> requests = new ArrayList<OnlineRequest>(onlineBatch);
+		final JSONArray batchEvents = onlineBatchData;
+		String jsonData = batchEvents.toString();
+
+		onlineBatch.clear();
+		onlineBatchData = new JSONArray();
+		onlineBatchSize = 0;
+
+		String url = CurioClientSettings.getInstance(context).getServerUrl() + Constants.SERVER_URL_SUFFIX_PERIODIC_BATCH;
+
+		CurioLogger.d(TAG, "Dispatching online batch with {} requests. URL : {}", requests.size(), url);
+
+		CircuitBreaker circuitBreaker = CircuitBreaker.getInstance(url);
+
+		if (!circuitBreaker.allowRequest()) {
+			CurioLogger.d(TAG, "Circuit breaker is open for {}", url);
+
+			for (OnlineRequest onlineRequest : requests) {
+				addFailedOnlineRequestToOfflineCache(onlineRequest);
+			}
+			return;
+		}
+
+		int statusCode;
+
+		try {
+			final String batchData = jsonData;
+
+			HttpResponse httpResponse = executeBatchRequest(url, new BatchEntityFactory() {
+				@Override
+				public HttpEntity createEntity(IPayloadCodec codec) throws IOException {
+					return codec != null ? generateCodecEntityForBatch(codec, batchEvents) : new UrlEncodedFormEntity(generatePairsForPeriodicDispatch(batchData));
 				}
+			}, jsonData.length());
+
+			statusCode = httpResponse.getStatusLine().getStatusCode();
+			CurioHttpClient.consumeContent(httpResponse);
 
+			CurioLogger.event(EventRingBuffer.EVENT_ONLINE_BATCH_SENT, requests.size(), statusCode);
+			CurioLogger.d(TAG, "Online batch request sent, and response status code is {}", statusCode);
+
+			if (CircuitBreaker.isServerFailure(statusCode)) {
+				circuitBreaker.recordFailure();
+			} else {
+				circuitBreaker.recordSuccess();
 			}
-			CurioLogger.v(TAG, "Processing of queue with priority " + priority + " is finished. Queue size is " + queue.size());
+		} catch (IOException e) {
+			CurioLogger.e(TAG, "{}", e.getMessage(), e);
+			circuitBreaker.recordFailure();
+			addFailedOnlineBatchToOfflineCache(requests);
+			return;
+		} catch (Exception e) {
+			CurioLogger.e(TAG, "{}", e.getMessage(), e);
+			circuitBreaker.releaseTrial();
+			addFailedOnlineBatchToOfflineCache(requests);
+			return;
+		}
+
+		CurioHttpClient.getInstance().closeExpiredConnections();
+
+		/**
+		 * Batch response does not contain results of individual requests, so every request gets batch status code without a result.
+		 */
+		for (OnlineRequest onlineRequest : requests) {
+			deliverResult(onlineRequest, statusCode, null);
 		}
 	}
 
@@ -435,8 +1212,48 @@ public class CurioRequestProcessor implements Runnable {
 	}
 	
 	public void setLowerPriorityQueueProcessingStatus(boolean status){
+		if (!status && lowerPriorityQueueProcessing) {
+			lowerPriorityQueueStopTime = System.currentTimeMillis();
+		}
+
 		lowerPriorityQueueProcessing = status;
-		CurioLogger.d(TAG, "Second and Third priority queue processing status changed to " + status);
+		CurioLogger.d(TAG, "Second and Third priority queue processing status changed to {}", status);
+
+		if (status) {
+			wakeUp();
+		}
+	}
+
+	/**
+	 * Restarts processing of second and third priority queues if they are stopped for too long. Session start response may never come (i.e. request is moved to offline cache), so
+	 * lower priority requests should not wait for it forever.
+	 */
+	private void checkLowerPriorityQueueStopTime() {
+		if (!shouldLowerPriorityQueuesBeProcessed() && System.currentTimeMillis() - lowerPriorityQueueStopTime > Constants.LOWER_PRIORITY_QUEUE_MAX_STOP_TIME_IN_MILLIS) {
+			CurioLogger.w(TAG, "Second and third priority queues are stopped for more than {} ms. Restarting processing.", Constants.LOWER_PRIORITY_QUEUE_MAX_STOP_TIME_IN_MILLIS);
+			setLowerPriorityQueueProcessingStatus(true);
+		}
+	}
+
+	/**
+	 * Sets scheduler that selects next online request to dispatch from priority queues.
+	 * 
+	 * @param onlineRequestScheduler
+	 */
+	public void setOnlineRequestScheduler(IOnlineRequestScheduler onlineRequestScheduler) {
+		this.onlineRequestScheduler = onlineRequestScheduler;
+	}
+
+	/**
+	 * Gets given percentile of queue wait times of recent online requests with given priority.
+	 * 
+	 * @param priority
+	 * @param percentile
+	 *            between 0 and 100.
+	 * @return wait time in ms.
+	 */
+	public static long getWaitTimePercentile(int priority, int percentile) {
+		return waitTimeRecorders[priority - 1].getPercentile(percentile);
 	}
 
 	/**
@@ -446,7 +1263,7 @@ public class CurioRequestProcessor implements Runnable {
 	 */
 	private void addFailedOnlineRequestToOfflineCache(OnlineRequest onlineRequest) {
 		CurioLogger.d(TAG, "Failed to send online request (device may have gone offline during the sending process). Request will be added to offline cache to send it later when network is available.");
-		OfflineRequest offlineRequest = new OfflineRequest(onlineRequest.getUrl(), onlineRequest.getParams());
+		OfflineRequest offlineRequest = new OfflineRequest(onlineRequest.getUrl(), onlineRequest.getParams(), onlineRequest.getCreationTime());
 		clientInstance.addRequestToOfflineCache(offlineRequest);
 	}
 
@@ -458,91 +1275,142 @@ public class CurioRequestProcessor implements Runnable {
 	 * @throws ClientProtocolException
 	 * @throws IOException
 	 * @throws UnsupportedEncodingException
+	 * @return HTTP status code of the response.
 	 */
-	private void sendRequest(OnlineRequest onlineRequest) throws ClientProtocolException, IOException, UnsupportedEncodingException {
+	private int sendRequest(OnlineRequest onlineRequest) throws ClientProtocolException, IOException, UnsupportedEncodingException {
 		String url = onlineRequest.getUrl();
-		List<NameValuePair> pairs = generatePairsForOnlineRequest(onlineRequest.getParams(), url);
 		ICurioResultListener callback = onlineRequest.getCallback();
 
-		CurioLogger.d(TAG, "POST REQUEST for URL: " + url);
+		CurioLogger.d(TAG, "POST REQUEST for URL: {}", url);
 
-		HttpClient client = new DefaultHttpClient();
 		HttpPost post = new HttpPost(url);
-		post.setEntity(new UrlEncodedFormEntity(pairs));
+		post.setEntity(generateEntityForOnlineRequest(onlineRequest.getParams(), url));
 
-		HttpResponse httpResponse = client.execute(post);
+		HttpResponse httpResponse = CurioHttpClient.getInstance().execute(post);
 
 		int statusCode = httpResponse.getStatusLine().getStatusCode();
 
-		String response = null;
-		JSONObject jsonResult = null;
+		CurioLogger.event(EventRingBuffer.EVENT_REQUEST_SENT, onlineRequest.getPriority(), statusCode);
 
-		if (statusCode == HttpStatus.SC_OK) {
-			ResponseHandler<String> responseHandler = new BasicResponseHandler();
-			response = responseHandler.handleResponse(httpResponse);
+		ResponseBody responseBody = null;
 
-			CurioLogger.d(TAG, "RESPONSE: " + response + " for URL:" + url);
+		/**
+		 * Response is only kept if there is a listener for the result, otherwise it is discarded. Kept response is parsed lazily when listener is called.
+		 */
+		if (statusCode == HttpStatus.SC_OK && callback != null) {
+			responseBody = CurioHttpClient.readResponseBody(httpResponse);
+		} else {
+			CurioHttpClient.consumeContent(httpResponse);
+			CurioLogger.d(TAG, "Status code from server: {}", statusCode);
+		}
 
-			if (response != null && !(response.trim().length() == 0)) {
-				try {
-					jsonResult = new JSONObject(response);
-				} catch (JSONException e) {
-					e.printStackTrace();
-				}
+		deliverResult(onlineRequest, statusCode, responseBody);
+
+		CurioHttpClient.getInstance().closeExpiredConnections();
+
+		CurioLogger.d(TAG, "-----------------------------------------");
+
+		return statusCode;
+	}
+
+	/**
+	 * Adds requests of a failed online batch to offline cache, so they are not lost.
+	 * 
+	 * @param requests
+	 */
+	private void addFailedOnlineBatchToOfflineCache(List<OnlineRequest> requests) {
+		for (OnlineRequest onlineRequest : requests) {
+			CurioLogger.event(EventRingBuffer.EVENT_REQUEST_FAILED, onlineRequest.getPriority(), 0);
+			addFailedOnlineRequestToOfflineCache(onlineRequest);
+		}
+	}
+
+	/**
+	 * Delivers result of given online request to its listener.
+	 * 
+	 * 401 results and session start results are delivered on processor thread, since their listeners stop or restart lower priority queue processing and start a new session,
+	 * which should take effect before the next request is dispatched. If result comes from a dispatch worker, it is queued and processor thread delivers it, so these listeners
+	 * never run concurrently. Other results are delivered asynchronously, so dispatcher never waits for listener code.
+	 * 
+	 * @param onlineRequest
+	 * @param statusCode
+	 * @param responseBody
+	 */
+	private void deliverResult(OnlineRequest onlineRequest, int statusCode, ResponseBody responseBody) {
+		if (statusCode == HttpStatus.SC_UNAUTHORIZED || onlineRequest.getUrl().endsWith(Constants.SERVER_URL_SUFFIX_SESSION_START)) {
+			if (Thread.currentThread() == processorThread) {
+				CallbackExecutor.getInstance().deliverNow(onlineRequest.getCallback(), statusCode, responseBody);
+			} else {
+				pendingResults.add(new PendingResult(onlineRequest, statusCode, responseBody));
+				wakeUp();
 			}
 		} else {
-			CurioLogger.d(TAG, "Status code from server: " + statusCode);
+			CallbackExecutor.getInstance().deliver(onlineRequest.getCallback(), statusCode, responseBody);
 		}
+	}
+
+	/**
+	 * Delivers session gating results queued by dispatch workers. Called only on processor thread.
+	 */
+	private void deliverPendingResults() {
+		PendingResult pendingResult;
 
-		if (callback != null) {
-			callback.handleResult(statusCode, jsonResult);
+		while ((pendingResult = pendingResults.poll()) != null) {
+			CallbackExecutor.getInstance().deliverNow(pendingResult.onlineRequest.getCallback(), pendingResult.statusCode, pendingResult.responseBody);
 		}
+	}
 
-		client.getConnectionManager().closeExpiredConnections();
+	/**
+	 * Generates form entity from given params and URL for online requests. Session start requests use pre-encoded static parameter block of {@link CurioClient.StaticFeatureSet}.
+	 * 
+	 * @param params
+	 * @param url
+	 * @return
+	 * @throws UnsupportedEncodingException
+	 */
+	private HttpEntity generateEntityForOnlineRequest(Map<String, Object> params, String url) throws UnsupportedEncodingException {
+		if (!url.endsWith(Constants.SERVER_URL_SUFFIX_SESSION_START)) {
+			return new UrlEncodedFormEntity(generatePairsForOnlineRequest(params));
+		}
 
-		CurioLogger.d(TAG, "-----------------------------------------");
+		ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+
+		try {
+			out.write(clientInstance.getStaticFeatureSet().getEncodedStaticParams());
+
+			for (Map.Entry<String, Object> entry : params.entrySet()) {
+				CurioLogger.d(TAG, "PARAM --> {} : {}", entry.getKey(), entry.getValue());
+
+				out.write('&');
+				CurioUtil.writeUrlEncodedParam(entry.getKey(), entry.getValue().toString(), out);
+			}
+		} catch (IOException e) {
+			CurioLogger.e(TAG, e.getMessage(), e);
+		}
+
+		ByteArrayEntity entity = new ByteArrayEntity(out.toByteArray());
+		entity.setContentType(URLEncodedUtils.CONTENT_TYPE + HTTP.CHARSET_PARAM + HTTP.UTF_8);
+		return entity;
 	}
 
 	/**
-	 * Generates name value pairs from given params and URL for online requests.
+	 * Generates name value pairs from given params for online requests other than session start.
 	 * 
 	 * @param params
 	 * @return
 	 */
-	private List<NameValuePair> generatePairsForOnlineRequest(Map<String, Object> params, String url) {
-		if (url.endsWith(Constants.SERVER_URL_SUFFIX_SESSION_START)) {
-			params.put(Constants.HTTP_PARAM_API_KEY, clientInstance.getStaticFeatureSet().getApiKey());
-			params.put(Constants.HTTP_PARAM_TRACKING_CODE, clientInstance.getStaticFeatureSet().getTrackingCode());
-			params.put(Constants.HTTP_PARAM_VISITOR_CODE, clientInstance.getStaticFeatureSet().getVisitorCode());
-			params.put(Constants.HTTP_PARAM_SESSION_TIMEOUT, clientInstance.getStaticFeatureSet().getSessionTimeout());
-			params.put(Constants.HTTP_PARAM_SCREEN_WIDTH, clientInstance.getStaticFeatureSet().getDeviceScreenWidth());
-			params.put(Constants.HTTP_PARAM_SCREEN_HEIGHT, clientInstance.getStaticFeatureSet().getDeviceScreenHeight());
-			params.put(Constants.HTTP_PARAM_ACTIVITY_WIDTH, clientInstance.getStaticFeatureSet().getActivityWidth());
-			params.put(Constants.HTTP_PARAM_ACTIVITY_HEIGHT, clientInstance.getStaticFeatureSet().getActivityHeight());
-			params.put(Constants.HTTP_PARAM_LANG, clientInstance.getStaticFeatureSet().getLanguage());
-			params.put(Constants.HTTP_PARAM_SIM_OPERATOR, clientInstance.getStaticFeatureSet().getSimOperator());
-			params.put(Constants.HTTP_PARAM_SIM_COUNTRY_ISO, clientInstance.getStaticFeatureSet().getSimCountryIso());
-			params.put(Constants.HTTP_PARAM_NETWORK_OPERATOR_NAME, clientInstance.getStaticFeatureSet().getNetworkOperatorName());
-			params.put(Constants.HTTP_PARAM_INTERNET_CONN_TYPE, clientInstance.getStaticFeatureSet().getConnType());
-			params.put(Constants.HTTP_PARAM_BRAND, clientInstance.getStaticFeatureSet().getBrand());
-			params.put(Constants.HTTP_PARAM_MODEL, clientInstance.getStaticFeatureSet().getModel());
-			params.put(Constants.HTTP_PARAM_OS_TYPE, clientInstance.getStaticFeatureSet().getOs());
-			params.put(Constants.HTTP_PARAM_OS_VERSION, clientInstance.getStaticFeatureSet().getOsVersion());
-			params.put(Constants.HTTP_PARAM_CURIO_SDK_VERSION, clientInstance.getStaticFeatureSet().getSdkVersion());
-			params.put(Constants.HTTP_PARAM_APP_VERSION, clientInstance.getStaticFeatureSet().getAppVersionName());
-		} else {
-			params.put(Constants.HTTP_PARAM_SESSION_CODE, clientInstance.getSessionCode(false));
-			params.put(Constants.HTTP_PARAM_TRACKING_CODE, clientInstance.getStaticFeatureSet().getTrackingCode());
-			params.put(Constants.HTTP_PARAM_VISITOR_CODE, clientInstance.getStaticFeatureSet().getVisitorCode());
-			params.put(Constants.HTTP_PARAM_SESSION_TIMEOUT, clientInstance.getStaticFeatureSet().getSessionTimeout());
-		}
+	private List<NameValuePair> generatePairsForOnlineRequest(Map<String, Object> params) {
+		params.put(Constants.HTTP_PARAM_SESSION_CODE, clientInstance.getSessionCode(false));
+		params.put(Constants.HTTP_PARAM_TRACKING_CODE, clientInstance.getStaticFeatureSet().getTrackingCode());
+		params.put(Constants.HTTP_PARAM_VISITOR_CODE, clientInstance.getStaticFeatureSet().getVisitorCode());
+		params.put(Constants.HTTP_PARAM_SESSION_TIMEOUT, clientInstance.getStaticFeatureSet().getSessionTimeout());
 
 		List<NameValuePair> newPairs = new ArrayList<NameValuePair>();
 
 		for (Map.Entry<String, Object> entry : params.entrySet()) {
 			NameValuePair newPair = new BasicNameValuePair(entry.getKey(), entry.getValue().toString());
 
-			CurioLogger.d(TAG, "PARAM --> " + newPair.getName() + " : " + newPair.getValue());
+			CurioLogger.d(TAG, "PARAM --> {} : {}", newPair.getName(), newPair.getValue());
 
 			newPairs.add(newPair);
 		}
@@ -567,9 +1435,25 @@ public class CurioRequestProcessor implements Runnable {
 	 */
 	public void releaseStoredRequests() {
 		release = true;
+		wakeUp();
 	}
 	
 	public void cancelReleaseStoredRequestFlag(){
 		release = false;
 	}
+
+	/**
+	 * Result of a request sent by a dispatch worker, waiting to be delivered on processor thread.
+	 */
+	private static class PendingResult {
+		private final OnlineRequest onlineRequest;
+		private final int statusCode;
+		private final ResponseBody responseBody;
+
+		public PendingResult(OnlineRequest onlineRequest, int statusCode, ResponseBody responseBody) {
+			this.onlineRequest = onlineRequest;
+			this.statusCode = statusCode;
+			this.responseBody = responseBody;
+		}
+	}
 }
@@ -1,13 +1,16 @@
 /*
  * Copyright (C) 2014 Turkcell
- * 
+ *
  * Created by Can Ciloglu on 10 Haz 2014
  *
  */
 package com.turkcell.curio;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.turkcell.curio.model.OfflineRequest;
 import com.turkcell.curio.utils.CurioDBHelper;
@@ -16,7 +19,7 @@ import com.turkcell.curio.utils.CurioLogger;
 /**
  * Processor thread for all requests (periodic/offline/online).
  * Requests pushed to queues and then polled and processed from those queues.
- * 
+ *
  * @author Can Ciloglu
  *
  */
@@ -25,31 +28,55 @@ public class DBRequestProcessor implements Runnable {
 
 	private static final BlockingQueue<OfflineRequest> offlineQueue = new LinkedBlockingQueue<OfflineRequest>();
 	private static final BlockingQueue<OfflineRequest> periodicDispatchQueue = new LinkedBlockingQueue<OfflineRequest>();
-	
+
+	/**
+	 * Lock for waking up DB processor thread when a request is pushed to any of the queues.
+	 */
+	private static final Object queueLock = new Object();
+
+	/**
+	 * Batch metrics. Using atomic longs since they are read from other threads.
+	 */
+	private static final AtomicLong batchCount = new AtomicLong();
+	private static final AtomicLong batchedRequestCount = new AtomicLong();
+	private static final AtomicLong lastBatchSize = new AtomicLong();
+	private static final AtomicLong maxBatchSize = new AtomicLong();
+	private static final AtomicLong totalCommitLatencyInMicros = new AtomicLong();
+	private static final AtomicLong lastCommitLatencyInMicros = new AtomicLong();
+	private static final AtomicLong droppedRequestCount = new AtomicLong();
+
 	/**
 	 * Pushes request to offline cache DB queue.
-	 * 
+	 *
 	 * @param offlineRequest
 	 */
 	public static void pushToOfflineDBQueue(OfflineRequest offlineRequest) {
 		offlineQueue.add(offlineRequest);
+		notifyQueueLock();
 	}
-	
+
 	/**
 	 * Pushes request to periaodic dispatch DB  queue.
-	 * 
+	 *
 	 * @param offlineRequest
 	 */
 	public static void pushToPeriodicDispatchDBQueue(OfflineRequest offlineRequest) {
 		periodicDispatchQueue.add(offlineRequest);
+		notifyQueueLock();
+	}
+
+	private static void notifyQueueLock() {
+		synchronized (queueLock) {
+			queueLock.notifyAll();
+		}
 	}
 
 	public void run() {
 		try {
 			while (true) {
+				waitForRequests();
 				processOfflineQueue();
 				processPeriodicDispatchQueue();
-				Thread.sleep(250);
 			}
 		} catch (InterruptedException e) {
 			CurioLogger.e(TAG, e.getMessage());
@@ -57,48 +84,172 @@ public class DBRequestProcessor implements Runnable {
 	}
 
 	/**
-	 * Stores offline request at DB.
-	 * 
-	 * @param offlineRequest
+	 * Blocks until there is at least one request in any of the queues.
+	 *
+	 * @throws InterruptedException
+	 */
+	private void waitForRequests() throws InterruptedException {
+		synchronized (queueLock) {
+			while (offlineQueue.isEmpty() && periodicDispatchQueue.isEmpty()) {
+				queueLock.wait();
+			}
+		}
+	}
+
+	/**
+	 * Stores offline requests at DB in a single transaction.
+	 *
+	 * @param offlineRequests
 	 */
-	private void storeOfflineRequest(OfflineRequest offlineRequest) {
+	private void storeOfflineRequests(List<OfflineRequest> offlineRequests) {
 		/**
 		 * Before storing any offline requests, move all periodic dispatch requests to offline request table
-		 * to guarantee ordered dispatch of all requests. 
+		 * to guarantee ordered dispatch of all requests.
 		 */
 		CurioDBHelper.getInstance().moveAllExistingPeriodicDispatchDataToOfflineTable();
-		
-		if (!CurioDBHelper.getInstance().persistOfflineRequestForCaching(offlineRequest)) {
-			CurioLogger.e(TAG, "Could not persist offline request.");
+
+		int persistedCount = CurioDBHelper.getInstance().persistOfflineRequestsForCaching(offlineRequests);
+
+		if (persistedCount < offlineRequests.size()) {
+			droppedRequestCount.addAndGet(offlineRequests.size() - persistedCount);
+			CurioLogger.e(TAG, "Could not persist {} of {} offline requests.", offlineRequests.size() - persistedCount, offlineRequests.size());
+		}
+
+		if (persistedCount > 0) {
+			/**
+			 * Request processor may have checked offline table before this request is stored, so mark offline requests as existing again and wake it up.
+			 */
+			CurioClient.getInstance().setOfflineRequestExist(true);
+			CurioRequestProcessor.wakeUp();
 		}
 	}
-	
+
 	/**
-	 * Stores periodic dispatch request at DB.
-	 * 
-	 * @param offlineRequest
+	 * Stores periodic dispatch requests at DB in a single transaction.
+	 *
+	 * @param offlineRequests
 	 */
-	private void storePeriodicDispatchRequest(OfflineRequest offlineRequest) {
-		if (!CurioDBHelper.getInstance().persistOfflineRequestForPeriodicDispatch(offlineRequest)) {
-			CurioLogger.e(TAG, "Could not persist periodic dispatch request.");
+	private void storePeriodicDispatchRequests(List<OfflineRequest> offlineRequests) {
+		int persistedCount = CurioDBHelper.getInstance().persistOfflineRequestsForPeriodicDispatch(offlineRequests);
+
+		if (persistedCount < offlineRequests.size()) {
+			droppedRequestCount.addAndGet(offlineRequests.size() - persistedCount);
+			CurioLogger.e(TAG, "Could not persist {} of {} periodic dispatch requests.", offlineRequests.size() - persistedCount, offlineRequests.size());
 		}
 	}
 
 	/**
-	 * Processes offline queue.
+	 * Processes offline queue. Drains all pending requests and stores them as one batch.
 	 */
 	private void processOfflineQueue() {
-		if (offlineQueue.size() > 0) {
-			storeOfflineRequest(offlineQueue.poll());
+		List<OfflineRequest> batch = new ArrayList<OfflineRequest>();
+		offlineQueue.drainTo(batch);
+
+		if (!batch.isEmpty()) {
+			long start = System.nanoTime();
+			storeOfflineRequests(batch);
+			recordBatch(batch.size(), System.nanoTime() - start);
 		}
 	}
-	
+
 	/**
-	 * Processes offline queue.
+	 * Processes periodic dispatch queue. Drains all pending requests and stores them as one batch.
 	 */
 	private void processPeriodicDispatchQueue() {
-		if (periodicDispatchQueue.size() > 0) {
-			storePeriodicDispatchRequest(periodicDispatchQueue.poll());
+		List<OfflineRequest> batch = new ArrayList<OfflineRequest>();
+		periodicDispatchQueue.drainTo(batch);
+
+		if (!batch.isEmpty()) {
+			long start = System.nanoTime();
+			storePeriodicDispatchRequests(batch);
+			recordBatch(batch.size(), System.nanoTime() - start);
 		}
 	}
+
+	/**
+	 * Updates batch metrics.
+	 *
+	 * @param batchSize
+	 * @param commitLatencyInNanos
+	 */
+	private void recordBatch(int batchSize, long commitLatencyInNanos) {
+		long commitLatencyInMicros = commitLatencyInNanos / 1000;
+
+		batchCount.incrementAndGet();
+		batchedRequestCount.addAndGet(batchSize);
+		lastBatchSize.set(batchSize);
+		totalCommitLatencyInMicros.addAndGet(commitLatencyInMicros);
+		lastCommitLatencyInMicros.set(commitLatencyInMicros);
+
+		if (batchSize > maxBatchSize.get()) {
+			maxBatchSize.set(batchSize);
+		}
+
+		CurioLogger.d(TAG, "{} requests committed to DB in {} us.", batchSize, commitLatencyInMicros);
+	}
+
+	/**
+	 * Gets number of committed batches.
+	 *
+	 * @return
+	 */
+	public static long getBatchCount() {
+		return batchCount.get();
+	}
+
+	/**
+	 * Gets size of the last committed batch.
+	 *
+	 * @return
+	 */
+	public static long getLastBatchSize() {
+		return lastBatchSize.get();
+	}
+
+	/**
+	 * Gets size of the biggest committed batch.
+	 *
+	 * @return
+	 */
+	public static long getMaxBatchSize() {
+		return maxBatchSize.get();
+	}
+
+	/**
+	 * Gets average number of requests per committed batch.
+	 *
+	 * @return
+	 */
+	public static float getAverageBatchSize() {
+		long batches = batchCount.get();
+		return batches == 0 ? 0f : (float) batchedRequestCount.get() / batches;
+	}
+
+	/**
+	 * Gets commit latency of the last batch in microseconds.
+	 *
+	 * @return
+	 */
+	public static long getLastCommitLatencyInMicros() {
+		return lastCommitLatencyInMicros.get();
+	}
+
+	/**
+	 * Gets number of requests that could not be persisted (i.e. offline cache is full) and dropped.
+	 * 
+	 * @return
+	 */
+	public static long getDroppedRequestCount() {
+		return droppedRequestCount.get();
+	}
+
+	/**
+	 * Gets average commit latency per batch in microseconds.
+	 *
+	 * @return
+	 */
+	public static long getAverageCommitLatencyInMicros() {
+		long batches = batchCount.get();
+		return batches == 0 ? 0 : totalCommitLatencyInMicros.get() / batches;
+	}
 }
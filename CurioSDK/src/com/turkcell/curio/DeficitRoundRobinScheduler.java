@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.turkcell.curio.model.OnlineRequest;
+import com.turkcell.curio.utils.CurioLogger;
+
+/**
+ * Deficit round-robin scheduler for online priority queues.
+ * 
+ * Queues are served in turns. On each turn, a queue's deficit grows by its weight times the quantum in bytes, and the queue sends requests as long as the estimated size of its
+ * head request fits in its deficit, which is then charged by that size. So lower priority queues get a fair share of bytes even if first priority queue is never empty, and large
+ * requests do not take more than their share. Unused deficit is kept for the next turn unless the queue becomes empty. Requests waiting longer than aging threshold are promoted
+ * and sent before others. Each tick has a time budget, so stored request dispatch is not delayed by a long online queue.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class DeficitRoundRobinScheduler implements IOnlineRequestScheduler {
+	private static final String TAG = "DeficitRoundRobinScheduler";
+
+	private final List<BlockingQueue<OnlineRequest>> queues;
+	private final int[] quanta;
+	private final int[] deficits;
+	private final long tickBudget;
+	private final long agingThreshold;
+
+	private int current = 0;
+	private long tickDeadline = 0;
+
+	private final AtomicLong promotedRequestCount = new AtomicLong();
+
+	/**
+	 * @param queues
+	 *            queues in priority order.
+	 * @param weights
+	 *            relative share of each queue, should be positive.
+	 * @param quantum
+	 *            bytes added to deficit of a queue with weight 1 on each turn.
+	 * @param tickBudget
+	 *            max. time in ms to spend on online requests in a tick.
+	 * @param agingThreshold
+	 *            max. time in ms that a lower priority request waits before it is promoted.
+	 */
+	public DeficitRoundRobinScheduler(List<BlockingQueue<OnlineRequest>> queues, int[] weights, int quantum, long tickBudget, long agingThreshold) {
+		if (queues.size() != weights.length) {
+			throw new IllegalArgumentException("Each queue should have a weight.");
+		}
+
+		if (quantum <= 0) {
+			throw new IllegalArgumentException("Quantum should be positive.");
+		}
+
+		this.queues = queues;
+		this.quanta = new int[weights.length];
+		this.deficits = new int[weights.length];
+		this.tickBudget = tickBudget;
+		this.agingThreshold = agingThreshold;
+
+		for (int i = 0; i < weights.length; i++) {
+			if (weights[i] <= 0) {
+				throw new IllegalArgumentException("Weights should be positive.");
+			}
+			quanta[i] = weights[i] * quantum;
+		}
+
+		deficits[0] = quanta[0];
+	}
+
+	@Override
+	public void startTick() {
+		tickDeadline = System.currentTimeMillis() + tickBudget;
+	}
+
+	@Override
+	public OnlineRequest next(boolean lowerPriorityQueuesAllowed) {
+		long now = System.currentTimeMillis();
+
+		if (now >= tickDeadline) {
+			return null;
+		}
+
+		int queueCount = lowerPriorityQueuesAllowed ? queues.size() : 1;
+
+		/**
+		 * Aging: a lower priority request that waited too long is sent first.
+		 */
+		for (int i = 1; i < queueCount; i++) {
+			OnlineRequest head = queues.get(i).peek();
+
+			if (head != null && now - head.getCreationTime() > agingThreshold) {
+				OnlineRequest onlineRequest = queues.get(i).poll();
+
+				if (onlineRequest != null) {
+					promotedRequestCount.incrementAndGet();
+					CurioLogger.d(TAG, "Request with priority {} promoted after waiting {} ms.", onlineRequest.getPriority(), now - onlineRequest.getCreationTime());
+					return onlineRequest;
+				}
+			}
+		}
+
+		if (current >= queueCount) {
+			startTurn(0);
+		}
+
+		/**
+		 * Stop when all queues are found empty one after another. A non-empty queue gains deficit on each turn, so its head request fits in a finite number of turns.
+		 */
+		int emptyQueueCount = 0;
+
+		while (emptyQueueCount < queueCount) {
+			BlockingQueue<OnlineRequest> queue = queues.get(current);
+			OnlineRequest head = queue.peek();
+
+			if (head == null) {
+				/**
+				 * Empty queues do not keep their deficit.
+				 */
+				deficits[current] = 0;
+				emptyQueueCount++;
+			} else {
+				emptyQueueCount = 0;
+
+				if (head.getEstimatedSize() <= deficits[current]) {
+					OnlineRequest onlineRequest = queue.poll();
+
+					if (onlineRequest != null) {
+						deficits[current] -= onlineRequest.getEstimatedSize();
+						return onlineRequest;
+					}
+				}
+			}
+
+			/**
+			 * Turn of current queue is over, either its head request does not fit in its deficit or it is empty.
+			 */
+			startTurn((current + 1) % queueCount);
+		}
+
+		return null;
+	}
+
+	private void startTurn(int queueIndex) {
+		current = queueIndex;
+		deficits[current] += quanta[current];
+	}
+
+	/**
+	 * Gets number of requests promoted because of waiting longer than aging threshold.
+	 * 
+	 * @return
+	 */
+	public long getPromotedRequestCount() {
+		return promotedRequestCount.get();
+	}
+}
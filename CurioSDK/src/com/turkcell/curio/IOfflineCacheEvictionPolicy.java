@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio;
+
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * Eviction policy interface for making room in offline cache table when it is full, instead of rejecting new requests.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public interface IOfflineCacheEvictionPolicy {
+	/**
+	 * Selects stored requests to be evicted from offline cache table. Called in the transaction that inserts new requests, selected requests are deleted in the same transaction.
+	 * 
+	 * Only requests which are not in process should be selected, since in process requests are being sent.
+	 * 
+	 * @param db
+	 * @param count
+	 *            number of requests to evict.
+	 * @return ids of selected requests, at most count ids.
+	 */
+	public long[] selectEvictedRequests(SQLiteDatabase db, int count);
+}
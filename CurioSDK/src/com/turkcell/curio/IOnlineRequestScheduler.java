@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio;
+
+import com.turkcell.curio.model.OnlineRequest;
+
+/**
+ * Scheduler interface for selecting the next online request to dispatch from priority queues.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public interface IOnlineRequestScheduler {
+	/**
+	 * Called at the beginning of each processing pass (tick) of the request processor.
+	 */
+	public void startTick();
+
+	/**
+	 * Removes and returns next online request to dispatch.
+	 * 
+	 * @param lowerPriorityQueuesAllowed
+	 *            if false, only first priority queue should be served.
+	 * @return next request, or null if there is no request to dispatch or budget of current tick is exhausted.
+	 */
+	public OnlineRequest next(boolean lowerPriorityQueuesAllowed);
+}
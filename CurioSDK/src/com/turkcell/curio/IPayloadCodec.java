@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.apache.http.NameValuePair;
+
+/**
+ * Codec interface for writing batch request payloads (offline cache, periodic dispatch and online batch) in a wire format other than form encoding.
+ * 
+ * A payload consists of static parameters followed by groups of consecutive events of the same session, each event is given as a serialized JSON object as it is stored in DB. Codec instances keep state of a single payload
+ * between {@link #startPayload(OutputStream, byte[])} and {@link #endPayload()}, so an instance should not be shared between concurrent requests.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public interface IPayloadCodec {
+	/**
+	 * Gets content type of the payload.
+	 * 
+	 * @return
+	 */
+	public String getContentType();
+
+	/**
+	 * Encodes given static parameters in codec's format. Result does not depend on codec state, so it can be cached while parameters are not changing.
+	 * 
+	 * @param staticParams
+	 * @return
+	 * @throws IOException
+	 */
+	public byte[] encodeStaticParams(List<NameValuePair> staticParams) throws IOException;
+
+	/**
+	 * Starts a new payload on given stream and writes given static parameters.
+	 * 
+	 * @param out
+	 * @param encodedStaticParams
+	 *            static parameters encoded by {@link #encodeStaticParams(List)}.
+	 * @throws IOException
+	 */
+	public void startPayload(OutputStream out, byte[] encodedStaticParams) throws IOException;
+
+	/**
+	 * Starts a group of events with given session code. Following events belong to this session, so they do not hold session code.
+	 * 
+	 * @param sessionCode
+	 *            may be null if following events hold their own session code.
+	 * @throws IOException
+	 */
+	public void startSession(String sessionCode) throws IOException;
+
+	/**
+	 * Writes given event of current session to the payload.
+	 * 
+	 * @param event
+	 *            serialized JSON object of the event.
+	 * @throws IOException
+	 */
+	public void writeEvent(String event) throws IOException;
+
+	/**
+	 * Finishes the payload and flushes the stream.
+	 * 
+	 * @throws IOException
+	 */
+	public void endPayload() throws IOException;
+}
@@ -22,11 +22,23 @@ public class OfflineRequest {
 	private Map<String, Object> params;
 	
 	public OfflineRequest(String url, Map<String, Object> params) {
+		this(url, params, System.currentTimeMillis());
+	}
+
+	/**
+	 * Creates offline request with given timestamp. Used for requests created earlier as online requests, to keep their original time.
+	 * 
+	 * @param url
+	 * @param params
+	 * @param timestamp
+	 */
+	public OfflineRequest(String url, Map<String, Object> params, long timestamp) {
 		/**
 		 * Adding timestamp and request type which are required at server.
 		 */
-		params.put(Constants.JSON_NODE_TIMESTAMP, System.currentTimeMillis());
+		params.put(Constants.JSON_NODE_TIMESTAMP, timestamp);
 		params.put(Constants.JSON_NODE_TYPE, CurioUtil.getRequestType(url));
+		setUrl(url);
 		setParams(params);
 	}
 
@@ -21,12 +21,15 @@ public class OnlineRequest {
 	private Map<String, Object> params;
 	private ICurioResultListener callback;
 	private Integer priority;
+	private long creationTime;
+	private int estimatedSize = -1;
 	
 	public OnlineRequest(String url, Map<String, Object> params, ICurioResultListener callback, Integer priority) {
 		setUrl(url);
 		setParams(params);
 		setCallback(callback);
 		setPriority(priority);
+		this.creationTime = System.currentTimeMillis();
 	}
 
 	public String getUrl() {
@@ -60,4 +63,37 @@ public class OnlineRequest {
 	public void setParams(Map<String, Object> params) {
 		this.params = params;
 	}
+
+	/**
+	 * Gets the time this request is created at, in milliseconds.
+	 * 
+	 * @return
+	 */
+	public long getCreationTime() {
+		return creationTime;
+	}
+
+	/**
+	 * Gets estimated size of this request in bytes, as the sum of URL and parameter name and value lengths. Estimated once, on first call.
+	 * 
+	 * @return
+	 */
+	public int getEstimatedSize() {
+		if (estimatedSize < 0) {
+			int size = url == null ? 0 : url.length();
+
+			if (params != null) {
+				for (Map.Entry<String, Object> param : params.entrySet()) {
+					size += param.getKey().length() + 2;
+
+					if (param.getValue() != null) {
+						size += param.getValue().toString().length();
+					}
+				}
+			}
+
+			estimatedSize = size;
+		}
+		return estimatedSize;
+	}
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.model;
+
+/**
+ * Holder class for a page of stored requests claimed from offline cache or periodic dispatch table.
+ *
+ * Claimed rows are marked as "in process" and identified by the id range of the page.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class StoredRequestPage {
+	private String tableName;
+	private long firstId;
+	private long lastId;
+	private int rowCount;
+	private int dataLength;
+
+	public StoredRequestPage(String tableName, long firstId, long lastId, int rowCount, int dataLength) {
+		this.tableName = tableName;
+		this.firstId = firstId;
+		this.lastId = lastId;
+		this.rowCount = rowCount;
+		this.dataLength = dataLength;
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	public long getFirstId() {
+		return firstId;
+	}
+
+	public long getLastId() {
+		return lastId;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Gets total length of stored request data of this page in characters.
+	 *
+	 * @return
+	 */
+	public int getDataLength() {
+		return dataLength;
+	}
+}
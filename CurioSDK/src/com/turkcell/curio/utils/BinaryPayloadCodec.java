@@ -0,0 +1,486 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.NameValuePair;
+import org.apache.http.protocol.HTTP;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import com.turkcell.curio.IPayloadCodec;
+
+/**
+ * Compact binary payload codec, using length prefixed fields and varints.
+ *
+ * <pre>
+ * payload      = version static-params *(SESSION_MARKER session *(EVENT_MARKER event)) END_MARKER
+ * static-params = varint(count) *(string(name) string(value))
+ * session      = flags [session-code]
+ * event        = type flags zigzag-varint(timestamp - previous timestamp) [session-code] [hit-code] varint(count) *(string(name) value)
+ * value        = VALUE_STRING string / VALUE_INTEGER zigzag-varint / VALUE_DOUBLE 8 bytes IEEE 754 / VALUE_TRUE / VALUE_FALSE / VALUE_NULL / VALUE_JSON string
+ * string       = varint(UTF-8 byte length) UTF-8 bytes
+ * </pre>
+ *
+ * Type is the request type of {@link CurioUtil#getRequestType(String)} as a single byte. Session and hit codes are written as 16 raw bytes if they are canonical UUIDs, as strings
+ * otherwise, flags tell which form is used. Session code is written once per group of consecutive events of the same session, events have their own session code only if session code of the group is unknown. Timestamp
+ * of first event is a delta from 0. Other event fields are written as name/typed value pairs, so numbers and booleans keep their JSON types, nested objects and arrays are written as
+ * JSON strings. {@link #decode(InputStream)} is the reference decoder, it gives the same JSON as {@link JSONPayloadCodec} with session envelopes. Stored events which are not valid JSON objects are skipped with a warning, so a single
+ * malformed row does not fail the whole page on every retry.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class BinaryPayloadCodec implements IPayloadCodec {
+	private static final String TAG = "BinaryPayloadCodec";
+
+	public static final String CONTENT_TYPE = "application/x-curio-batch";
+
+	private static final int VERSION = 2;
+	private static final int EVENT_MARKER = 1;
+	private static final int SESSION_MARKER = 2;
+	private static final int END_MARKER = 0;
+
+	private static final int FLAG_SESSION_CODE_UUID = 1;
+	private static final int FLAG_SESSION_CODE_STRING = 1 << 1;
+	private static final int FLAG_HIT_CODE_UUID = 1 << 2;
+	private static final int FLAG_HIT_CODE_STRING = 1 << 3;
+
+	private static final int VALUE_STRING = 0;
+	private static final int VALUE_INTEGER = 1;
+	private static final int VALUE_DOUBLE = 2;
+	private static final int VALUE_TRUE = 3;
+	private static final int VALUE_FALSE = 4;
+	private static final int VALUE_NULL = 5;
+	private static final int VALUE_JSON = 6;
+
+	/**
+	 * Size metrics for comparing with JSON payloads.
+	 */
+	private static final AtomicLong jsonEventByteCount = new AtomicLong();
+	private static final AtomicLong binaryEventByteCount = new AtomicLong();
+	private static final AtomicLong encodeTimeInNanos = new AtomicLong();
+
+	private OutputStream out;
+	private long previousTimestamp;
+	private final ByteArrayOutputStream eventBuffer = new ByteArrayOutputStream(256);
+
+	@Override
+	public String getContentType() {
+		return CONTENT_TYPE;
+	}
+
+	@Override
+	public byte[] encodeStaticParams(List<NameValuePair> staticParams) throws IOException {
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream(256);
+
+		writeVarint(staticParams.size(), encoded);
+
+		for (NameValuePair pair : staticParams) {
+			writeString(pair.getName(), encoded);
+			writeString(pair.getValue(), encoded);
+		}
+
+		return encoded.toByteArray();
+	}
+
+	@Override
+	public void startPayload(OutputStream out, byte[] encodedStaticParams) throws IOException {
+		this.out = out;
+		this.previousTimestamp = 0;
+
+		out.write(VERSION);
+
+		if (encodedStaticParams != null) {
+			out.write(encodedStaticParams);
+		} else {
+			writeVarint(0, out);
+		}
+	}
+
+	@Override
+	public void startSession(String sessionCode) throws IOException {
+		UUID sessionUUID = parseUUID(sessionCode);
+
+		int flags = 0;
+
+		if (sessionUUID != null) {
+			flags |= FLAG_SESSION_CODE_UUID;
+		} else if (sessionCode != null) {
+			flags |= FLAG_SESSION_CODE_STRING;
+		}
+
+		out.write(SESSION_MARKER);
+		out.write(flags);
+		writeCode(sessionUUID, sessionCode, out);
+	}
+
+	@Override
+	public void writeEvent(String event) throws IOException {
+		long start = System.nanoTime();
+
+		JSONObject json;
+
+		try {
+			json = new JSONObject(event);
+		} catch (JSONException e) {
+			CurioLogger.w(TAG, "Stored event is not a valid JSON object, skipping it: {}", e.getMessage());
+			return;
+		}
+
+		eventBuffer.reset();
+
+		String sessionCode = removeString(json, Constants.JSON_NODE_SESSION_CODE);
+		String hitCode = removeString(json, Constants.JSON_NODE_HIT_CODE);
+		UUID sessionUUID = parseUUID(sessionCode);
+		UUID hitUUID = parseUUID(hitCode);
+
+		int flags = 0;
+
+		if (sessionUUID != null) {
+			flags |= FLAG_SESSION_CODE_UUID;
+		} else if (sessionCode != null) {
+			flags |= FLAG_SESSION_CODE_STRING;
+		}
+
+		if (hitUUID != null) {
+			flags |= FLAG_HIT_CODE_UUID;
+		} else if (hitCode != null) {
+			flags |= FLAG_HIT_CODE_STRING;
+		}
+
+		eventBuffer.write(json.optInt(Constants.JSON_NODE_TYPE, -1) & 0xFF);
+		eventBuffer.write(flags);
+
+		long timestamp = json.optLong(Constants.JSON_NODE_TIMESTAMP, previousTimestamp);
+		writeVarint(zigzag(timestamp - previousTimestamp), eventBuffer);
+		previousTimestamp = timestamp;
+
+		writeCode(sessionUUID, sessionCode, eventBuffer);
+		writeCode(hitUUID, hitCode, eventBuffer);
+
+		json.remove(Constants.JSON_NODE_TYPE);
+		json.remove(Constants.JSON_NODE_TIMESTAMP);
+
+		writeVarint(json.length(), eventBuffer);
+
+		Iterator<?> keys = json.keys();
+
+		while (keys.hasNext()) {
+			String key = (String) keys.next();
+			writeString(key, eventBuffer);
+			writeValue(json.opt(key), eventBuffer);
+		}
+
+		out.write(EVENT_MARKER);
+		eventBuffer.writeTo(out);
+
+		jsonEventByteCount.addAndGet(event.length());
+		binaryEventByteCount.addAndGet(eventBuffer.size() + 1);
+		encodeTimeInNanos.addAndGet(System.nanoTime() - start);
+	}
+
+	@Override
+	public void endPayload() throws IOException {
+		out.write(END_MARKER);
+		out.flush();
+	}
+
+	/**
+	 * Decodes given binary payload into JSON payload, i.e. static parameters as string members and session envelopes as JSON array member. Used as reference for
+	 * server side decoders.
+	 *
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 *             if payload is malformed or version is not supported.
+	 */
+	public static JSONObject decode(InputStream in) throws IOException {
+		try {
+			int version = readByte(in);
+
+			if (version != VERSION) {
+				throw new IOException("Unsupported payload version: " + version);
+			}
+
+			JSONObject payload = new JSONObject();
+
+			for (long i = readVarint(in); i > 0; i--) {
+				String name = readString(in);
+				payload.put(name, readString(in));
+			}
+
+			JSONArray sessions = new JSONArray();
+			JSONArray events = null;
+			long previousTimestamp = 0;
+			int marker;
+
+			while ((marker = readByte(in)) != END_MARKER) {
+				if (marker == SESSION_MARKER) {
+					int flags = readByte(in);
+					String sessionCode = readCode(flags, FLAG_SESSION_CODE_UUID, FLAG_SESSION_CODE_STRING, in);
+					JSONObject session = new JSONObject();
+
+					if (sessionCode != null) {
+						session.put(Constants.JSON_NODE_SESSION_CODE, sessionCode);
+					}
+
+					events = new JSONArray();
+					session.put(SessionEventArrayWriter.ENVELOPE_EVENTS_NODE, events);
+					sessions.put(session);
+				} else if (marker == EVENT_MARKER && events != null) {
+					JSONObject event = new JSONObject();
+					int type = readByte(in);
+					int flags = readByte(in);
+
+					if (type != 0xFF) {
+						event.put(Constants.JSON_NODE_TYPE, type);
+					}
+
+					previousTimestamp += unzigzag(readVarint(in));
+					event.put(Constants.JSON_NODE_TIMESTAMP, previousTimestamp);
+
+					String sessionCode = readCode(flags, FLAG_SESSION_CODE_UUID, FLAG_SESSION_CODE_STRING, in);
+					String hitCode = readCode(flags, FLAG_HIT_CODE_UUID, FLAG_HIT_CODE_STRING, in);
+
+					if (sessionCode != null) {
+						event.put(Constants.JSON_NODE_SESSION_CODE, sessionCode);
+					}
+
+					if (hitCode != null) {
+						event.put(Constants.JSON_NODE_HIT_CODE, hitCode);
+					}
+
+					for (long i = readVarint(in); i > 0; i--) {
+						String name = readString(in);
+						event.put(name, readValue(in));
+					}
+
+					events.put(event);
+				} else {
+					throw new IOException("Unexpected marker: " + marker);
+				}
+			}
+
+			payload.put(Constants.HTTP_PARAM_JSON_DATA, sessions);
+			return payload;
+		} catch (JSONException e) {
+			throw new IOException("Invalid JSON value in payload: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes given JSON value with its type. Numbers other than integers are written as doubles, which is how JSON parser reads them.
+	 */
+	private static void writeValue(Object value, OutputStream out) throws IOException {
+		if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			out.write(VALUE_INTEGER);
+			writeVarint(zigzag(((Number) value).longValue()), out);
+		} else if (value instanceof Number) {
+			out.write(VALUE_DOUBLE);
+			writeLong(Double.doubleToLongBits(((Number) value).doubleValue()), out);
+		} else if (value instanceof Boolean) {
+			out.write(((Boolean) value).booleanValue() ? VALUE_TRUE : VALUE_FALSE);
+		} else if (value == null || value == JSONObject.NULL) {
+			out.write(VALUE_NULL);
+		} else if (value instanceof JSONObject || value instanceof JSONArray) {
+			out.write(VALUE_JSON);
+			writeString(value.toString(), out);
+		} else {
+			out.write(VALUE_STRING);
+			writeString(value.toString(), out);
+		}
+	}
+
+	private static Object readValue(InputStream in) throws IOException, JSONException {
+		int valueType = readByte(in);
+
+		switch (valueType) {
+		case VALUE_STRING:
+			return readString(in);
+		case VALUE_INTEGER:
+			return Long.valueOf(unzigzag(readVarint(in)));
+		case VALUE_DOUBLE:
+			return Double.valueOf(Double.longBitsToDouble(readLong(in)));
+		case VALUE_TRUE:
+			return Boolean.TRUE;
+		case VALUE_FALSE:
+			return Boolean.FALSE;
+		case VALUE_NULL:
+			return JSONObject.NULL;
+		case VALUE_JSON:
+			return new JSONTokener(readString(in)).nextValue();
+		default:
+			throw new IOException("Unknown value type: " + valueType);
+		}
+	}
+
+	private static String readCode(int flags, int uuidFlag, int stringFlag, InputStream in) throws IOException {
+		if ((flags & uuidFlag) != 0) {
+			long mostSignificantBits = readLong(in);
+			return new UUID(mostSignificantBits, readLong(in)).toString();
+		} else if ((flags & stringFlag) != 0) {
+			return readString(in);
+		}
+
+		return null;
+	}
+
+	private static long readLong(InputStream in) throws IOException {
+		long value = 0;
+
+		for (int i = 0; i < 8; i++) {
+			value = (value << 8) | readByte(in);
+		}
+
+		return value;
+	}
+
+	private static String readString(InputStream in) throws IOException {
+		byte[] bytes = new byte[(int) readVarint(in)];
+		int offset = 0;
+
+		while (offset < bytes.length) {
+			int read = in.read(bytes, offset, bytes.length - offset);
+
+			if (read < 0) {
+				throw new EOFException();
+			}
+
+			offset += read;
+		}
+
+		return new String(bytes, HTTP.UTF_8);
+	}
+
+	private static long readVarint(InputStream in) throws IOException {
+		long value = 0;
+
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte(in);
+			value |= (long) (b & 0x7F) << shift;
+
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("Malformed varint");
+	}
+
+	private static int readByte(InputStream in) throws IOException {
+		int b = in.read();
+
+		if (b < 0) {
+			throw new EOFException();
+		}
+
+		return b;
+	}
+
+	private static String removeString(JSONObject json, String name) {
+		Object value = json.remove(name);
+		return value == null ? null : value.toString();
+	}
+
+	/**
+	 * Parses given code as UUID if it is in canonical form, so it can be written back as the same string.
+	 *
+	 * @param code
+	 * @return
+	 */
+	private static UUID parseUUID(String code) {
+		if (code == null || code.length() != 36) {
+			return null;
+		}
+
+		try {
+			UUID uuid = UUID.fromString(code);
+			return uuid.toString().equals(code) ? uuid : null;
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static void writeCode(UUID uuid, String code, OutputStream out) throws IOException {
+		if (uuid != null) {
+			writeLong(uuid.getMostSignificantBits(), out);
+			writeLong(uuid.getLeastSignificantBits(), out);
+		} else if (code != null) {
+			writeString(code, out);
+		}
+	}
+
+	private static void writeLong(long value, OutputStream out) throws IOException {
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			out.write((int) (value >>> shift) & 0xFF);
+		}
+	}
+
+	private static void writeString(String value, OutputStream out) throws IOException {
+		byte[] bytes = (value == null ? "" : value).getBytes(HTTP.UTF_8);
+		writeVarint(bytes.length, out);
+		out.write(bytes);
+	}
+
+	/**
+	 * Writes given value as unsigned LEB128 varint.
+	 */
+	private static void writeVarint(long value, OutputStream out) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Gets total number of characters of encoded events in their JSON form.
+	 *
+	 * @return
+	 */
+	public static long getJsonEventByteCount() {
+		return jsonEventByteCount.get();
+	}
+
+	/**
+	 * Gets total size of encoded events in binary form.
+	 *
+	 * @return
+	 */
+	public static long getBinaryEventByteCount() {
+		return binaryEventByteCount.get();
+	}
+
+	/**
+	 * Gets total time spent for encoding events in microseconds.
+	 *
+	 * @return
+	 */
+	public static long getEncodeTimeInMicros() {
+		return encodeTimeInNanos.get() / 1000;
+	}
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.turkcell.curio.ICurioResultListener;
+
+/**
+ * Delivers request results to result listeners, so dispatcher threads never wait for listener code.
+ *
+ * Results are delivered in order on a dedicated callback thread with a bounded queue. Results that change session state of the SDK (i.e. 401 handling and session start) are
+ * delivered on the processor thread instead, see {@link #deliverNow(ICurioResultListener, int, ResponseBody)}. If queue is full, calling thread waits a short time for a free slot to slow dispatching down, then
+ * result is dropped and logged, so listener code never runs on dispatcher threads. Callback thread is a daemon thread. Optionally
+ * results can be delivered on main thread instead, pending results are then posted to main looper as a single batch.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class CallbackExecutor {
+	private static final String TAG = "CallbackExecutor";
+
+	private static CallbackExecutor instance;
+
+	private final ThreadPoolExecutor executor;
+
+	private volatile boolean mainThreadDelivery = false;
+	private Handler mainThreadHandler;
+	private final List<Runnable> pendingMainThreadCallbacks = new ArrayList<Runnable>();
+
+	/**
+	 * Listener execution metrics. Using atomic longs since listeners may run on different threads.
+	 */
+	private final AtomicLong listenerCallCount = new AtomicLong();
+	private final AtomicLong totalListenerTimeInNanos = new AtomicLong();
+	private final AtomicLong maxListenerTimeInNanos = new AtomicLong();
+	private final AtomicLong droppedResultCount = new AtomicLong();
+
+	/**
+	 * Getter for singleton instance.
+	 *
+	 * @return
+	 */
+	public static synchronized CallbackExecutor getInstance() {
+		if (instance == null) {
+			instance = new CallbackExecutor();
+		}
+		return instance;
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private CallbackExecutor() {
+		executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(Constants.CALLBACK_QUEUE_CAPACITY), new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, Constants.THREAD_NAME_CALLBACK_EXECUTOR);
+				thread.setDaemon(true);
+				return thread;
+			}
+		}, new RejectedExecutionHandler() {
+			@Override
+			public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+				dropOrWait(task, executor);
+			}
+		});
+	}
+
+	/**
+	 * Waits for a free slot in callback queue for a limited time, drops given task if queue is still full or executor is shut down.
+	 *
+	 * @param task
+	 * @param executor
+	 */
+	private void dropOrWait(Runnable task, ThreadPoolExecutor executor) {
+		try {
+			if (!executor.isShutdown() && executor.getQueue().offer(task, Constants.CALLBACK_QUEUE_OFFER_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS)) {
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		CurioLogger.w(TAG, "Callback queue is full, dropped a result. Total dropped results: {}", droppedResultCount.incrementAndGet());
+	}
+
+	/**
+	 * Sets whether results are delivered on main thread instead of callback thread.
+	 *
+	 * @param mainThreadDelivery
+	 */
+	public synchronized void setMainThreadDelivery(boolean mainThreadDelivery) {
+		if (mainThreadDelivery && mainThreadHandler == null) {
+			mainThreadHandler = new Handler(Looper.getMainLooper());
+		}
+		this.mainThreadDelivery = mainThreadDelivery;
+	}
+
+	/**
+	 * Delivers given result to given listener asynchronously.
+	 *
+	 * @param listener
+	 * @param statusCode
+	 * @param responseBody
+	 *            response body to be parsed on delivery, may be null.
+	 */
+	public void deliver(final ICurioResultListener listener, final int statusCode, final ResponseBody responseBody) {
+		if (listener == null) {
+			return;
+		}
+
+		Runnable task = createTask(listener, statusCode, responseBody);
+
+		if (mainThreadDelivery) {
+			postToMainThread(task);
+		} else {
+			executor.execute(task);
+		}
+	}
+
+	/**
+	 * Delivers given result to given listener synchronously on the calling thread. Used for SDK internal results that stop or restart lower priority queue processing and
+	 * session, since they should take effect before the dispatcher sends the next request. Should only be called on processor thread, so these listeners never run
+	 * concurrently.
+	 *
+	 * @param listener
+	 * @param statusCode
+	 * @param responseBody
+	 *            response body to be parsed on delivery, may be null.
+	 */
+	public void deliverNow(ICurioResultListener listener, int statusCode, ResponseBody responseBody) {
+		if (listener == null) {
+			return;
+		}
+
+		createTask(listener, statusCode, responseBody).run();
+	}
+
+	private Runnable createTask(final ICurioResultListener listener, final int statusCode, final ResponseBody responseBody) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				long start = System.nanoTime();
+
+				try {
+					listener.handleResult(statusCode, responseBody == null ? null : responseBody.getJSONObject());
+				} catch (Exception e) {
+					CurioLogger.e(TAG, "Result listener failed: {}", e.getMessage(), e);
+				}
+
+				recordListenerTime(System.nanoTime() - start);
+			}
+		};
+	}
+
+	/**
+	 * Adds given task to pending main thread callbacks. Only one runnable is posted to main looper for all pending callbacks.
+	 *
+	 * @param task
+	 */
+	private void postToMainThread(Runnable task) {
+		synchronized (pendingMainThreadCallbacks) {
+			pendingMainThreadCallbacks.add(task);
+
+			if (pendingMainThreadCallbacks.size() > 1) {
+				return;
+			}
+		}
+
+		mainThreadHandler.post(new Runnable() {
+			@Override
+			public void run() {
+				List<Runnable> tasks;
+
+				synchronized (pendingMainThreadCallbacks) {
+					tasks = new ArrayList<Runnable>(pendingMainThreadCallbacks);
+					pendingMainThreadCallbacks.clear();
+				}
+
+				for (Runnable task : tasks) {
+					task.run();
+				}
+			}
+		});
+	}
+
+	private void recordListenerTime(long listenerTimeInNanos) {
+		listenerCallCount.incrementAndGet();
+		totalListenerTimeInNanos.addAndGet(listenerTimeInNanos);
+
+		long max = maxListenerTimeInNanos.get();
+
+		while (listenerTimeInNanos > max && !maxListenerTimeInNanos.compareAndSet(max, listenerTimeInNanos)) {
+			max = maxListenerTimeInNanos.get();
+		}
+	}
+
+	/**
+	 * Gets number of listener calls.
+	 *
+	 * @return
+	 */
+	public long getListenerCallCount() {
+		return listenerCallCount.get();
+	}
+
+	/**
+	 * Gets average listener execution time in microseconds.
+	 *
+	 * @return
+	 */
+	public long getAverageListenerTimeInMicros() {
+		long calls = listenerCallCount.get();
+		return calls == 0 ? 0 : totalListenerTimeInNanos.get() / 1000 / calls;
+	}
+
+	/**
+	 * Gets max. listener execution time in microseconds.
+	 *
+	 * @return
+	 */
+	public long getMaxListenerTimeInMicros() {
+		return maxListenerTimeInNanos.get() / 1000;
+	}
+
+	/**
+	 * Gets number of results dropped since callback queue was full.
+	 *
+	 * @return
+	 */
+	public long getDroppedResultCount() {
+		return droppedResultCount.get();
+	}
+}
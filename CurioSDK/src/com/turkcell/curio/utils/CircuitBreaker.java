@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker for a server endpoint.
+ *
+ * Breaker is closed as long as requests succeed. After a number of consecutive failures it opens and no request is sent to the endpoint for a while. Then it becomes half-open and
+ * lets a single trial request through, if trial succeeds breaker closes, otherwise it opens again.
+ *
+ * Only server side failures (network errors, 5xx and 429 responses) should be recorded as failures. If a request fails for another reason, its trial should be released with
+ * {@link #releaseTrial()}.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class CircuitBreaker {
+	private static final String TAG = "CircuitBreaker";
+
+	public static final int STATE_CLOSED = 0;
+	public static final int STATE_OPEN = 1;
+	public static final int STATE_HALF_OPEN = 2;
+
+	private static final Map<String, CircuitBreaker> breakers = new HashMap<String, CircuitBreaker>();
+
+	private final String endpoint;
+	private final int failureThreshold;
+	private final long openDuration;
+
+	private int state = STATE_CLOSED;
+	private int failureCount = 0;
+	private long openUntil = 0;
+	private boolean trialInProgress = false;
+
+	/**
+	 * Gets circuit breaker of given endpoint, creates one with default parameters if not exists.
+	 *
+	 * @param endpoint
+	 * @return
+	 */
+	public static CircuitBreaker getInstance(String endpoint) {
+		synchronized (breakers) {
+			CircuitBreaker breaker = breakers.get(endpoint);
+
+			if (breaker == null) {
+				breaker = new CircuitBreaker(endpoint, Constants.CIRCUIT_BREAKER_FAILURE_THRESHOLD, Constants.CIRCUIT_BREAKER_OPEN_DURATION_IN_MILLIS);
+				breakers.put(endpoint, breaker);
+			}
+			return breaker;
+		}
+	}
+
+	/**
+	 * @param endpoint
+	 * @param failureThreshold
+	 *            number of consecutive failures to open the breaker.
+	 * @param openDuration
+	 *            in ms.
+	 */
+	public CircuitBreaker(String endpoint, int failureThreshold, long openDuration) {
+		this.endpoint = endpoint;
+		this.failureThreshold = failureThreshold;
+		this.openDuration = openDuration;
+	}
+
+	/**
+	 * Checks if a request can be sent to the endpoint. If breaker is half-open, only the first caller is allowed as trial request.
+	 *
+	 * @return
+	 */
+	public synchronized boolean allowRequest() {
+		if (state == STATE_OPEN && System.currentTimeMillis() >= openUntil) {
+			state = STATE_HALF_OPEN;
+			trialInProgress = false;
+			CurioLogger.d(TAG, "Circuit breaker is half-open for {}", endpoint);
+		}
+
+		if (state == STATE_CLOSED) {
+			return true;
+		}
+
+		if (state == STATE_HALF_OPEN && !trialInProgress) {
+			trialInProgress = true;
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Records a successful request.
+	 */
+	public synchronized void recordSuccess() {
+		if (state != STATE_CLOSED) {
+			CurioLogger.d(TAG, "Circuit breaker is closed for {}", endpoint);
+		}
+
+		state = STATE_CLOSED;
+		failureCount = 0;
+		trialInProgress = false;
+	}
+
+	/**
+	 * Records a failed request.
+	 */
+	public synchronized void recordFailure() {
+		failureCount++;
+
+		if (state == STATE_HALF_OPEN || failureCount >= failureThreshold) {
+			state = STATE_OPEN;
+			openUntil = System.currentTimeMillis() + openDuration;
+			trialInProgress = false;
+			CurioLogger.event(EventRingBuffer.EVENT_CIRCUIT_OPENED, failureCount, openDuration);
+			CurioLogger.w(TAG, "Circuit breaker is open for {} after {} failures. No request will be sent for {} ms.", endpoint, failureCount, openDuration);
+		}
+	}
+
+	/**
+	 * Releases trial request of a half-open breaker without recording a result, i.e. if request failed before it is sent or because of a client side error.
+	 */
+	public synchronized void releaseTrial() {
+		trialInProgress = false;
+	}
+
+	/**
+	 * Gets the time that breaker lets a trial request through, 0 if breaker is not open.
+	 *
+	 * @return
+	 */
+	public synchronized long getRetryTime() {
+		return state == STATE_OPEN ? openUntil : 0;
+	}
+
+	public synchronized int getState() {
+		return state;
+	}
+
+	/**
+	 * Checks if given HTTP status code is a server side failure that should be recorded.
+	 *
+	 * @param statusCode
+	 * @return
+	 */
+	public static boolean isServerFailure(int statusCode) {
+		return statusCode >= 500 || statusCode == 429;
+	}
+
+	/**
+	 * Checks if given HTTP status code is a client side failure which would fail the same way if request is sent again. 401 is not permanent, since request is sent again after a
+	 * new session is started.
+	 *
+	 * @param statusCode
+	 * @return
+	 */
+	public static boolean isPermanentFailure(int statusCode) {
+		return statusCode >= 400 && statusCode < 500 && statusCode != 401 && statusCode != 408 && statusCode != 429;
+	}
+}
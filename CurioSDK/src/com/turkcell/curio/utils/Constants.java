@@ -51,6 +51,7 @@ public class Constants {
 	public static final String HTTP_PARAM_PUSH_TOKEN = "pushToken";
 	public static final String HTTP_PARAM_PUSH_ID = "pushId";
 	public static final String HTTP_PARAM_CUSTOM_ID = "customId";
+	public static final String HTTP_HEADER_SERVER_CAPABILITIES = "X-Curio-Capabilities";
 	
 	public static final String CONFIG_PARAM_SESSION_TIMEOUT = "session_timeout";
 	public static final String CONFIG_PARAM_API_KEY = "api_key";
@@ -62,12 +63,41 @@ public class Constants {
 	public static final String CONFIG_PARAM_MAX_CACHED_ACTIVITY_COUNT = "max_cached_activity_count";
 	public static final String CONFIG_PARAM_LOGGING_ENABLED = "logging_enabled";
 	public static final String CONFIG_PARAM_AUTO_PUSH_REGISTRATION = "auto_push_registration";
+	public static final String CONFIG_PARAM_ONLINE_BATCHING_ENABLED = "online_batching_enabled";
+	public static final String CONFIG_PARAM_ONLINE_BATCH_LINGER_TIME = "online_batch_linger_time";
+	public static final String CONFIG_PARAM_ONLINE_BATCH_MAX_COUNT = "online_batch_max_count";
+	public static final String CONFIG_PARAM_ONLINE_BATCH_MAX_SIZE = "online_batch_max_size";
+	public static final String CONFIG_PARAM_BATCH_COMPRESSION_ENABLED = "batch_compression_enabled";
+	public static final String CONFIG_PARAM_BATCH_COMPRESSION_THRESHOLD = "batch_compression_threshold";
+	public static final String CONFIG_PARAM_CONNECT_TIMEOUT = "connect_timeout";
+	public static final String CONFIG_PARAM_READ_TIMEOUT = "read_timeout";
+	public static final String CONFIG_PARAM_REQUEST_DEADLINE = "request_deadline";
+	public static final String CONFIG_PARAM_DISPATCH_WORKER_COUNT = "dispatch_worker_count";
+	public static final String CONFIG_PARAM_CALLBACKS_ON_MAIN_THREAD = "callbacks_on_main_thread";
+	public static final String CONFIG_PARAM_EVENT_BUFFER_SIZE = "event_buffer_size";
+	public static final String CONFIG_PARAM_JSON_BODY_ENABLED = "json_body_enabled";
+	public static final String CONFIG_PARAM_BINARY_BODY_ENABLED = "binary_body_enabled";
+	public static final String CONFIG_PARAM_SESSION_ENVELOPE_ENABLED = "session_envelope_enabled";
+	public static final String CONFIG_PARAM_OFFLINE_CACHE_EVICTION_POLICY = "offline_cache_eviction_policy";
 
 	public static final int CONFIG_PARAM_DEFAULT_VALUE_SESSION_TIMEOUT_IN_MINUTES = 30;
 	public static final int CONFIG_PARAM_DEFAULT_VALUE_DISPATCH_PERIOD_IN_MINUTES = 5;
 	public static final int CONFIG_PARAM_DEFAULT_VALUE_MAX_CACHED_ACTIVITY_COUNT = 1000;
+	public static final int CONFIG_PARAM_DEFAULT_VALUE_ONLINE_BATCH_LINGER_TIME_IN_MILLIS = 200;
+	public static final int CONFIG_PARAM_DEFAULT_VALUE_ONLINE_BATCH_MAX_COUNT = 20;
+	public static final int CONFIG_PARAM_DEFAULT_VALUE_ONLINE_BATCH_MAX_SIZE_IN_BYTES = 16 * 1024;
+	public static final int CONFIG_PARAM_DEFAULT_VALUE_BATCH_COMPRESSION_THRESHOLD_IN_BYTES = 1024;
+	public static final int CONFIG_PARAM_DEFAULT_VALUE_CONNECT_TIMEOUT_IN_MILLIS = 10 * 1000;
+	public static final int CONFIG_PARAM_DEFAULT_VALUE_READ_TIMEOUT_IN_MILLIS = 20 * 1000;
+	public static final int CONFIG_PARAM_DEFAULT_VALUE_REQUEST_DEADLINE_IN_MILLIS = 30 * 1000;
+	public static final int CONFIG_PARAM_DEFAULT_VALUE_DISPATCH_WORKER_COUNT = 1;
+	public static final int CONFIG_PARAM_DEFAULT_VALUE_EVENT_BUFFER_SIZE = 0;
+	public static final String CONFIG_PARAM_DEFAULT_VALUE_OFFLINE_CACHE_EVICTION_POLICY = "none";
 
 	public static final int CONFIG_PARAM_MAX_VALUE_MAX_CACHED_ACTIVITY_COUNT = 4000;
+	public static final int CONFIG_PARAM_MAX_VALUE_ONLINE_BATCH_LINGER_TIME_IN_MILLIS = 1000;
+	public static final int CONFIG_PARAM_MAX_VALUE_DISPATCH_WORKER_COUNT = 4;
+	public static final int CONFIG_PARAM_MAX_VALUE_EVENT_BUFFER_SIZE = 4096;
 
 	public static final String ERROR = "error";
 	public static final String ERROR_CODE = "errorCode";
@@ -105,7 +135,31 @@ public class Constants {
 	
 	public static final String THREAD_NAME_CURIO_REQ_PROC = "Curio Request Processor";
 	public static final String THREAD_NAME_DB_REQ_PROC = "DB Request Processor";
+	public static final String THREAD_NAME_DISPATCH_WORKER = "Curio Dispatch Worker";
+	public static final String THREAD_NAME_CALLBACK_EXECUTOR = "Curio Callback Executor";
 	public static final int REQUEST_QUEUE_CAPACITY = 100;
+	public static final int HTTP_MAX_TOTAL_CONNECTIONS = 8;
+	public static final int HTTP_MAX_CONNECTIONS_PER_ROUTE = 2;
+	public static final long HTTP_KEEP_ALIVE_DURATION_IN_MILLIS = 30 * 1000;
+	public static final long RETRY_BASE_DELAY_IN_MILLIS = 1000;
+	public static final int RETRY_DELAY_MULTIPLIER = 2;
+	public static final long RETRY_MAX_DELAY_IN_MILLIS = 5 * 60 * 1000;
+	public static final long RETRY_MAX_ELAPSED_TIME_IN_MILLIS = 60 * 60 * 1000;
+	public static final int CIRCUIT_BREAKER_FAILURE_THRESHOLD = 5;
+	public static final long CIRCUIT_BREAKER_OPEN_DURATION_IN_MILLIS = 60 * 1000;
+	public static final long DISPATCH_WATCHDOG_CHECK_INTERVAL_IN_MILLIS = 10 * 1000;
+	public static final int ONLINE_QUEUE_WEIGHT_FIRST_PRIORITY = 4;
+	public static final int ONLINE_QUEUE_WEIGHT_SECOND_PRIORITY = 2;
+	public static final int ONLINE_QUEUE_WEIGHT_THIRD_PRIORITY = 1;
+	public static final int ONLINE_QUEUE_QUANTUM_IN_BYTES = 512;
+	public static final long ONLINE_QUEUE_TICK_BUDGET_IN_MILLIS = 2 * 1000;
+	public static final long ONLINE_QUEUE_AGING_THRESHOLD_IN_MILLIS = 10 * 1000;
+	public static final long LOWER_PRIORITY_QUEUE_MAX_STOP_TIME_IN_MILLIS = 60 * 1000;
+	public static final int WAIT_TIME_SAMPLE_COUNT = 256;
+	public static final int CALLBACK_QUEUE_CAPACITY = 100;
+	public static final long CALLBACK_QUEUE_OFFER_TIMEOUT_IN_MILLIS = 200;
+	public static final int STORED_REQUEST_PAGE_MAX_ROW_COUNT = 200;
+	public static final int STORED_REQUEST_PAGE_MAX_SIZE_IN_BYTES = 64 * 1024;
 	public static final int HONEYCOMB_SDK_INT = 11;
 	public static final int HONEYCOMB_3_2_SDK_INT = 13;
 	public static final int JELLYBEAN_4_2_SDK_INT = 17;
@@ -28,6 +28,22 @@ public class CurioClientSettings {
 	private int maxCachedActivityCount;
 	private static boolean loggingEnabled = true;
 	private boolean autoPushRegistration;
+	private boolean onlineBatchingEnabled;
+	private int onlineBatchLingerTime;
+	private int onlineBatchMaxCount;
+	private int onlineBatchMaxSize;
+	private boolean batchCompressionEnabled;
+	private int batchCompressionThreshold;
+	private int connectTimeout;
+	private int readTimeout;
+	private int requestDeadline;
+	private int dispatchWorkerCount;
+	private boolean callbacksOnMainThread;
+	private int eventBufferSize;
+	private boolean jsonBodyEnabled;
+	private boolean binaryBodyEnabled;
+	private boolean sessionEnvelopeEnabled;
+	private String offlineCacheEvictionPolicy;
 
 	/**
 	 * Private constructor.
@@ -57,9 +73,49 @@ public class CurioClientSettings {
 		 * User defined max. cached activity count cannot be greater than defined max.
 		 */
 		if(maxCachedActivityCount > Constants.CONFIG_PARAM_MAX_VALUE_MAX_CACHED_ACTIVITY_COUNT){
-			CurioLogger.w(TAG, "Max number of cached activity cannot be greater then " + Constants.CONFIG_PARAM_MAX_VALUE_MAX_CACHED_ACTIVITY_COUNT + ". Will be set to max value.");
+			CurioLogger.w(TAG, "Max number of cached activity cannot be greater then {}. Will be set to max value.", Constants.CONFIG_PARAM_MAX_VALUE_MAX_CACHED_ACTIVITY_COUNT);
 			maxCachedActivityCount = Constants.CONFIG_PARAM_MAX_VALUE_MAX_CACHED_ACTIVITY_COUNT;
 		}
+
+		onlineBatchingEnabled = paramLoader.getBoolean(Constants.CONFIG_PARAM_ONLINE_BATCHING_ENABLED, false);
+		onlineBatchLingerTime = paramLoader.getInteger(Constants.CONFIG_PARAM_ONLINE_BATCH_LINGER_TIME, Constants.CONFIG_PARAM_DEFAULT_VALUE_ONLINE_BATCH_LINGER_TIME_IN_MILLIS);
+		onlineBatchMaxCount = paramLoader.getInteger(Constants.CONFIG_PARAM_ONLINE_BATCH_MAX_COUNT, Constants.CONFIG_PARAM_DEFAULT_VALUE_ONLINE_BATCH_MAX_COUNT);
+		onlineBatchMaxSize = paramLoader.getInteger(Constants.CONFIG_PARAM_ONLINE_BATCH_MAX_SIZE, Constants.CONFIG_PARAM_DEFAULT_VALUE_ONLINE_BATCH_MAX_SIZE_IN_BYTES);
+
+		/**
+		 * Online requests should not wait too long for batching.
+		 */
+		if(onlineBatchLingerTime > Constants.CONFIG_PARAM_MAX_VALUE_ONLINE_BATCH_LINGER_TIME_IN_MILLIS){
+			CurioLogger.w(TAG, "Online batch linger time cannot be greater then {} ms. Will be set to max value.", Constants.CONFIG_PARAM_MAX_VALUE_ONLINE_BATCH_LINGER_TIME_IN_MILLIS);
+			onlineBatchLingerTime = Constants.CONFIG_PARAM_MAX_VALUE_ONLINE_BATCH_LINGER_TIME_IN_MILLIS;
+		}
+
+		batchCompressionEnabled = paramLoader.getBoolean(Constants.CONFIG_PARAM_BATCH_COMPRESSION_ENABLED, false);
+		batchCompressionThreshold = paramLoader.getInteger(Constants.CONFIG_PARAM_BATCH_COMPRESSION_THRESHOLD, Constants.CONFIG_PARAM_DEFAULT_VALUE_BATCH_COMPRESSION_THRESHOLD_IN_BYTES);
+
+		connectTimeout = paramLoader.getInteger(Constants.CONFIG_PARAM_CONNECT_TIMEOUT, Constants.CONFIG_PARAM_DEFAULT_VALUE_CONNECT_TIMEOUT_IN_MILLIS);
+		readTimeout = paramLoader.getInteger(Constants.CONFIG_PARAM_READ_TIMEOUT, Constants.CONFIG_PARAM_DEFAULT_VALUE_READ_TIMEOUT_IN_MILLIS);
+		requestDeadline = paramLoader.getInteger(Constants.CONFIG_PARAM_REQUEST_DEADLINE, Constants.CONFIG_PARAM_DEFAULT_VALUE_REQUEST_DEADLINE_IN_MILLIS);
+
+		dispatchWorkerCount = paramLoader.getInteger(Constants.CONFIG_PARAM_DISPATCH_WORKER_COUNT, Constants.CONFIG_PARAM_DEFAULT_VALUE_DISPATCH_WORKER_COUNT);
+
+		if(dispatchWorkerCount > Constants.CONFIG_PARAM_MAX_VALUE_DISPATCH_WORKER_COUNT){
+			CurioLogger.w(TAG, "Dispatch worker count cannot be greater then {}. Will be set to max value.", Constants.CONFIG_PARAM_MAX_VALUE_DISPATCH_WORKER_COUNT);
+			dispatchWorkerCount = Constants.CONFIG_PARAM_MAX_VALUE_DISPATCH_WORKER_COUNT;
+		}
+
+		callbacksOnMainThread = paramLoader.getBoolean(Constants.CONFIG_PARAM_CALLBACKS_ON_MAIN_THREAD, false);
+		eventBufferSize = paramLoader.getInteger(Constants.CONFIG_PARAM_EVENT_BUFFER_SIZE, Constants.CONFIG_PARAM_DEFAULT_VALUE_EVENT_BUFFER_SIZE);
+
+		if(eventBufferSize > Constants.CONFIG_PARAM_MAX_VALUE_EVENT_BUFFER_SIZE){
+			CurioLogger.w(TAG, "Event buffer size cannot be greater then {}. Will be set to max value.", Constants.CONFIG_PARAM_MAX_VALUE_EVENT_BUFFER_SIZE);
+			eventBufferSize = Constants.CONFIG_PARAM_MAX_VALUE_EVENT_BUFFER_SIZE;
+		}
+
+		jsonBodyEnabled = paramLoader.getBoolean(Constants.CONFIG_PARAM_JSON_BODY_ENABLED, false);
+		binaryBodyEnabled = paramLoader.getBoolean(Constants.CONFIG_PARAM_BINARY_BODY_ENABLED, false);
+		sessionEnvelopeEnabled = paramLoader.getBoolean(Constants.CONFIG_PARAM_SESSION_ENVELOPE_ENABLED, false);
+		offlineCacheEvictionPolicy = paramLoader.getString(Constants.CONFIG_PARAM_OFFLINE_CACHE_EVICTION_POLICY, Constants.CONFIG_PARAM_DEFAULT_VALUE_OFFLINE_CACHE_EVICTION_POLICY);
 	}
 	
 	/**
@@ -161,5 +217,163 @@ public class CurioClientSettings {
 	public void setLoggingEnabled(boolean loggingEnabled) {
 		this.loggingEnabled = loggingEnabled;
 	}
+
+	public boolean isOnlineBatchingEnabled() {
+		return onlineBatchingEnabled;
+	}
+
+	public void setOnlineBatchingEnabled(boolean onlineBatchingEnabled) {
+		this.onlineBatchingEnabled = onlineBatchingEnabled;
+	}
+
+	/**
+	 * Gets online batch linger time in milliseconds.
+	 * 
+	 * @return
+	 */
+	public int getOnlineBatchLingerTime() {
+		return onlineBatchLingerTime;
+	}
+
+	public void setOnlineBatchLingerTime(int onlineBatchLingerTime) {
+		this.onlineBatchLingerTime = onlineBatchLingerTime;
+	}
+
+	public int getOnlineBatchMaxCount() {
+		return onlineBatchMaxCount;
+	}
+
+	public void setOnlineBatchMaxCount(int onlineBatchMaxCount) {
+		this.onlineBatchMaxCount = onlineBatchMaxCount;
+	}
+
+	/**
+	 * Gets online batch max. size in bytes.
+	 * 
+	 * @return
+	 */
+	public int getOnlineBatchMaxSize() {
+		return onlineBatchMaxSize;
+	}
+
+	public void setOnlineBatchMaxSize(int onlineBatchMaxSize) {
+		this.onlineBatchMaxSize = onlineBatchMaxSize;
+	}
+
+	public boolean isBatchCompressionEnabled() {
+		return batchCompressionEnabled;
+	}
+
+	public void setBatchCompressionEnabled(boolean batchCompressionEnabled) {
+		this.batchCompressionEnabled = batchCompressionEnabled;
+	}
+
+	/**
+	 * Gets min. size of batch request data in bytes to be compressed.
+	 * 
+	 * @return
+	 */
+	public int getBatchCompressionThreshold() {
+		return batchCompressionThreshold;
+	}
+
+	public void setBatchCompressionThreshold(int batchCompressionThreshold) {
+		this.batchCompressionThreshold = batchCompressionThreshold;
+	}
+
+	/**
+	 * Gets HTTP connect timeout in milliseconds.
+	 * 
+	 * @return
+	 */
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	public void setConnectTimeout(int connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+
+	/**
+	 * Gets HTTP socket read timeout in milliseconds.
+	 * 
+	 * @return
+	 */
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	public void setReadTimeout(int readTimeout) {
+		this.readTimeout = readTimeout;
+	}
+
+	/**
+	 * Gets max. total time in milliseconds for a single HTTP request, including connecting, sending request and reading response.
+	 * 
+	 * @return
+	 */
+	public int getRequestDeadline() {
+		return requestDeadline;
+	}
+
+	public void setRequestDeadline(int requestDeadline) {
+		this.requestDeadline = requestDeadline;
+	}
+
+	public int getDispatchWorkerCount() {
+		return dispatchWorkerCount;
+	}
+
+	public void setDispatchWorkerCount(int dispatchWorkerCount) {
+		this.dispatchWorkerCount = dispatchWorkerCount;
+	}
+
+	public boolean isCallbacksOnMainThread() {
+		return callbacksOnMainThread;
+	}
+
+	public void setCallbacksOnMainThread(boolean callbacksOnMainThread) {
+		this.callbacksOnMainThread = callbacksOnMainThread;
+	}
+
+	public int getEventBufferSize() {
+		return eventBufferSize;
+	}
+
+	public void setEventBufferSize(int eventBufferSize) {
+		this.eventBufferSize = eventBufferSize;
+	}
+
+	public boolean isJsonBodyEnabled() {
+		return jsonBodyEnabled;
+	}
+
+	public void setJsonBodyEnabled(boolean jsonBodyEnabled) {
+		this.jsonBodyEnabled = jsonBodyEnabled;
+	}
+
+	public boolean isBinaryBodyEnabled() {
+		return binaryBodyEnabled;
+	}
+
+	public void setBinaryBodyEnabled(boolean binaryBodyEnabled) {
+		this.binaryBodyEnabled = binaryBodyEnabled;
+	}
+
+	public boolean isSessionEnvelopeEnabled() {
+		return sessionEnvelopeEnabled;
+	}
+
+	public void setSessionEnvelopeEnabled(boolean sessionEnvelopeEnabled) {
+		this.sessionEnvelopeEnabled = sessionEnvelopeEnabled;
+	}
+
+	public String getOfflineCacheEvictionPolicy() {
+		return offlineCacheEvictionPolicy;
+	}
+
+	public void setOfflineCacheEvictionPolicy(String offlineCacheEvictionPolicy) {
+		this.offlineCacheEvictionPolicy = offlineCacheEvictionPolicy;
+	}
 	
 }
@@ -29,6 +29,8 @@ public class CurioDBContract {
 		public static final String COLUMN_NAME_DATA = "data";
 		public static final String COLUMN_NAME_IN_PROCESS = "in_process";
 		public static final String COLUMN_NAME_TIMESTAMP = "timestamp";
+		public static final String COLUMN_NAME_SESSION_CODE = "session_code";
+		public static final String COLUMN_NAME_REQUEST_TYPE = "request_type";
 	}
 	
 	/**
@@ -49,6 +51,5 @@ public class CurioDBContract {
 	 */
 	public static abstract class CurioOfflineCacheEntry implements BaseOfflineEntryColumns, BaseColumns{
 		public static final String TABLE_NAME = "curio_offline_cache";
-		public static final String COLUMN_NAME_SESSION_CODE = "session_code";
 	}
 }
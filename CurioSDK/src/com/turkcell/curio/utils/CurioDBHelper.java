@@ -6,23 +6,26 @@
  */
 package com.turkcell.curio.utils;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
-import org.json.JSONArray;
+import java.util.concurrent.atomic.AtomicLongArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import android.annotation.SuppressLint;
-import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteException;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 import android.os.Build;
+import android.provider.BaseColumns;
 import com.turkcell.curio.CurioClient;
+import com.turkcell.curio.IOfflineCacheEvictionPolicy;
 import com.turkcell.curio.model.OfflineRequest;
+import com.turkcell.curio.model.StoredRequestPage;
 import com.turkcell.curio.utils.CurioDBContract.BaseOfflineEntryColumns;
 import com.turkcell.curio.utils.CurioDBContract.CurioOfflineCacheEntry;
 import com.turkcell.curio.utils.CurioDBContract.CurioPeriodicDispatchEntry;
@@ -40,27 +43,115 @@ public class CurioDBHelper extends SQLiteOpenHelper {
 	private static final String INTEGER_TYPE = " INTEGER";
 	private static final String COMMA_SEP = ",";
 	private static final String SQL_CREATE_TABLE_PERIODIC_DISPATCH = "CREATE TABLE " + CurioPeriodicDispatchEntry.TABLE_NAME + " (" + CurioPeriodicDispatchEntry._ID
-			+ " INTEGER PRIMARY KEY AUTOINCREMENT," + CurioPeriodicDispatchEntry.COLUMN_NAME_DATA + TEXT_TYPE + COMMA_SEP + CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS + INTEGER_TYPE
-			+ COMMA_SEP + CurioPeriodicDispatchEntry.COLUMN_NAME_TIMESTAMP + INTEGER_TYPE + " )";
+			+ " INTEGER PRIMARY KEY AUTOINCREMENT," + CurioPeriodicDispatchEntry.COLUMN_NAME_SESSION_CODE + TEXT_TYPE + COMMA_SEP + CurioPeriodicDispatchEntry.COLUMN_NAME_DATA + TEXT_TYPE + COMMA_SEP + CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS + INTEGER_TYPE
+			+ COMMA_SEP + CurioPeriodicDispatchEntry.COLUMN_NAME_TIMESTAMP + INTEGER_TYPE + COMMA_SEP + CurioPeriodicDispatchEntry.COLUMN_NAME_REQUEST_TYPE + INTEGER_TYPE + " )";
 
 	private static final String SQL_CREATE_TABLE_OFFLINE_CACHE = "CREATE TABLE " + CurioOfflineCacheEntry.TABLE_NAME + " (" + CurioOfflineCacheEntry._ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
 			+ CurioOfflineCacheEntry.COLUMN_NAME_SESSION_CODE + TEXT_TYPE + COMMA_SEP + CurioOfflineCacheEntry.COLUMN_NAME_DATA + TEXT_TYPE + COMMA_SEP + CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS
-			+ INTEGER_TYPE + COMMA_SEP + CurioOfflineCacheEntry.COLUMN_NAME_TIMESTAMP + INTEGER_TYPE + " )";
+			+ INTEGER_TYPE + COMMA_SEP + CurioOfflineCacheEntry.COLUMN_NAME_TIMESTAMP + INTEGER_TYPE + COMMA_SEP + CurioOfflineCacheEntry.COLUMN_NAME_REQUEST_TYPE + INTEGER_TYPE + " )";
 
-	private static final String SQL_DROP_TABLE_PERIODIC_DISPATCH = "DROP TABLE IF EXISTS " + CurioPeriodicDispatchEntry.TABLE_NAME;
-	private static final String SQL_DROP_TABLE_OFFLINE_CACHE = "DROP TABLE IF EXISTS " + CurioOfflineCacheEntry.TABLE_NAME;
+	/**
+	 * Version 2 adds session code column to periodic dispatch table.
+	 */
+	private static final String SQL_ADD_SESSION_CODE_TO_PERIODIC_DISPATCH = "ALTER TABLE " + CurioPeriodicDispatchEntry.TABLE_NAME + " ADD COLUMN "
+			+ CurioPeriodicDispatchEntry.COLUMN_NAME_SESSION_CODE + TEXT_TYPE;
+
+	/**
+	 * Offline rows of version 1 have current session code of the moment they are moved, not their own, which is already in their data.
+	 */
+	private static final String SQL_CLEAR_OFFLINE_CACHE_SESSION_CODE = "UPDATE " + CurioOfflineCacheEntry.TABLE_NAME + " SET " + CurioOfflineCacheEntry.COLUMN_NAME_SESSION_CODE
+			+ " = NULL";
+
+	/**
+	 * Version 3 adds (in_process, _id) indexes. Claiming a page filters on in_process and orders by _id, and in process rows are deleted or released by in_process, so none
+	 * of them needs a table scan or a sort.
+	 */
+	private static final String SQL_CREATE_INDEX_PERIODIC_DISPATCH_IN_PROCESS = "CREATE INDEX IF NOT EXISTS " + CurioPeriodicDispatchEntry.TABLE_NAME + "_in_process_idx ON "
+			+ CurioPeriodicDispatchEntry.TABLE_NAME + " (" + CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS + COMMA_SEP + CurioPeriodicDispatchEntry._ID + ")";
+
+	private static final String SQL_CREATE_INDEX_OFFLINE_CACHE_IN_PROCESS = "CREATE INDEX IF NOT EXISTS " + CurioOfflineCacheEntry.TABLE_NAME + "_in_process_idx ON "
+			+ CurioOfflineCacheEntry.TABLE_NAME + " (" + CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS + COMMA_SEP + CurioOfflineCacheEntry._ID + ")";
 
-	private static final int DATABASE_VERSION = 1;
+	/**
+	 * Version 4 adds request type column, used by offline cache eviction policies. Rows stored before have null request type.
+	 */
+	private static final String SQL_ADD_REQUEST_TYPE_TO_PERIODIC_DISPATCH = "ALTER TABLE " + CurioPeriodicDispatchEntry.TABLE_NAME + " ADD COLUMN "
+			+ CurioPeriodicDispatchEntry.COLUMN_NAME_REQUEST_TYPE + INTEGER_TYPE;
+
+	private static final String SQL_ADD_REQUEST_TYPE_TO_OFFLINE_CACHE = "ALTER TABLE " + CurioOfflineCacheEntry.TABLE_NAME + " ADD COLUMN "
+			+ CurioOfflineCacheEntry.COLUMN_NAME_REQUEST_TYPE + INTEGER_TYPE;
+
+	/**
+	 * Argument indexes of compiled insert statements.
+	 */
+	private static final int INSERT_INDEX_SESSION_CODE = 1;
+	private static final int INSERT_INDEX_DATA = 2;
+	private static final int INSERT_INDEX_IN_PROCESS = 3;
+	private static final int INSERT_INDEX_TIMESTAMP = 4;
+	private static final int INSERT_INDEX_REQUEST_TYPE = 5;
+
+	/**
+	 * Request types of {@link CurioUtil#getRequestType(String)} are between -1 and 4, counters are indexed by request type + 1.
+	 */
+	private static final int REQUEST_TYPE_COUNT = 6;
+
+	private static final String SQL_COUNT_OFFLINE_CACHE = "SELECT count(*) FROM " + CurioOfflineCacheEntry.TABLE_NAME;
+
+	private static final String SQL_COUNT_MOVABLE_PERIODIC_DISPATCH = "SELECT count(*) FROM " + CurioPeriodicDispatchEntry.TABLE_NAME + " WHERE "
+			+ CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS + "=" + Constants.NOT_IN_PROCESS;
+
+	/**
+	 * Periodic dispatch rows which are not in process are copied to offline cache table in id order and then deleted, up to the bound limit (-1 for no limit). Rows in process
+	 * belong to a page being sent, so they are left in place.
+	 */
+	private static final String SQL_MOVE_PERIODIC_DISPATCH_TO_OFFLINE_CACHE = "INSERT INTO " + CurioOfflineCacheEntry.TABLE_NAME + " ("
+			+ CurioOfflineCacheEntry.COLUMN_NAME_SESSION_CODE + COMMA_SEP + CurioOfflineCacheEntry.COLUMN_NAME_DATA + COMMA_SEP + CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS
+			+ COMMA_SEP + CurioOfflineCacheEntry.COLUMN_NAME_TIMESTAMP + COMMA_SEP + CurioOfflineCacheEntry.COLUMN_NAME_REQUEST_TYPE + ") SELECT "
+			+ CurioPeriodicDispatchEntry.COLUMN_NAME_SESSION_CODE + COMMA_SEP + CurioPeriodicDispatchEntry.COLUMN_NAME_DATA + COMMA_SEP + Constants.NOT_IN_PROCESS + COMMA_SEP
+			+ CurioPeriodicDispatchEntry.COLUMN_NAME_TIMESTAMP + COMMA_SEP + CurioPeriodicDispatchEntry.COLUMN_NAME_REQUEST_TYPE + " FROM " + CurioPeriodicDispatchEntry.TABLE_NAME
+			+ " WHERE " + CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS + "=" + Constants.NOT_IN_PROCESS + " ORDER BY " + CurioPeriodicDispatchEntry._ID + " ASC LIMIT ?";
+
+	private static final String SQL_DELETE_MOVED_PERIODIC_DISPATCH = "DELETE FROM " + CurioPeriodicDispatchEntry.TABLE_NAME + " WHERE " + CurioPeriodicDispatchEntry._ID
+			+ " IN (SELECT " + CurioPeriodicDispatchEntry._ID + " FROM " + CurioPeriodicDispatchEntry.TABLE_NAME + " WHERE " + CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS
+			+ "=" + Constants.NOT_IN_PROCESS + " ORDER BY " + CurioPeriodicDispatchEntry._ID + " ASC LIMIT ?)";
+
+	/**
+	 * Number of rows changed by last INSERT, UPDATE or DELETE statement of the connection.
+	 */
+	private static final String SQL_CHANGES = "SELECT changes()";
+
+	private static final int DATABASE_VERSION = 4;
 	private static final String DATABASE_NAME = "Curio.db";
 
 	private static CurioDBHelper instance;
 
+	private SQLiteDatabase database;
+
 	/**
-	 * Using atomic integer for concurrency!!!
+	 * Compiled statements of the open connection. Statements hold their bound arguments, so they are only used in synchronized methods.
 	 */
-	private AtomicInteger openDBCount = new AtomicInteger();
+	private final Map<String, TableStatements> tableStatements = new HashMap<String, TableStatements>();
+	private SQLiteStatement countOfflineCacheStatement;
+	private SQLiteStatement countMovablePeriodicDispatchStatement;
+	private SQLiteStatement movePeriodicDispatchStatement;
+	private SQLiteStatement deleteMovedPeriodicDispatchStatement;
+	private SQLiteStatement changesStatement;
 
-	private SQLiteDatabase database;
+	/**
+	 * Number of rows in offline cache table, maintained on insert, move and delete so cache size limit is checked without a query. Synchronized with the table whenever
+	 * connection is opened, which also corrects any drift (i.e. a transaction failed after being counted).
+	 */
+	private final AtomicInteger offlineCacheRowCount = new AtomicInteger();
+
+	/**
+	 * Policy for making room in offline cache when it is full. If null, new requests are not stored while cache is full.
+	 */
+	private volatile IOfflineCacheEvictionPolicy offlineCacheEvictionPolicy;
+
+	/**
+	 * Number of evicted requests per request type.
+	 */
+	private final AtomicLongArray evictedRequestCounts = new AtomicLongArray(REQUEST_TYPE_COUNT);
 
 	private Context context;
 
@@ -69,7 +160,7 @@ public class CurioDBHelper extends SQLiteOpenHelper {
 	/**
 	 * Variable to check if any periodic dispatch request stored.
 	 */
-	private boolean periodicDispatchRequestExists = true;
+	private volatile boolean periodicDispatchRequestExists = true;
 
 	/**
 	 * Should be called first to create instance.
@@ -106,6 +197,27 @@ public class CurioDBHelper extends SQLiteOpenHelper {
 		super(clientInstance.getContext(), DATABASE_NAME, null, DATABASE_VERSION);
 		this.context = clientInstance.getContext();
 		this.clientInstance = clientInstance;
+		this.offlineCacheEvictionPolicy = createOfflineCacheEvictionPolicy(CurioClientSettings.getInstance(context).getOfflineCacheEvictionPolicy());
+	}
+
+	/**
+	 * Creates offline cache eviction policy with given name.
+	 * 
+	 * @param name
+	 * @return policy, or null if new requests should not be stored while cache is full.
+	 */
+	private static IOfflineCacheEvictionPolicy createOfflineCacheEvictionPolicy(String name) {
+		if (DropOldestEvictionPolicy.NAME.equals(name)) {
+			return new DropOldestEvictionPolicy();
+		} else if (DropLowestTypeEvictionPolicy.NAME.equals(name)) {
+			return new DropLowestTypeEvictionPolicy();
+		} else if (DownSampleEvictionPolicy.NAME.equals(name)) {
+			return new DownSampleEvictionPolicy();
+		} else if (name != null && !Constants.CONFIG_PARAM_DEFAULT_VALUE_OFFLINE_CACHE_EVICTION_POLICY.equals(name)) {
+			CurioLogger.w(TAG, "Unknown offline cache eviction policy {}, new requests will not be stored while cache is full.", name);
+		}
+
+		return null;
 	}
 
 	@Override
@@ -115,13 +227,37 @@ public class CurioDBHelper extends SQLiteOpenHelper {
 
 		// Create offline cache table. All requests are stored in this table for offline caching.
 		db.execSQL(SQL_CREATE_TABLE_OFFLINE_CACHE);
+
+		createIndexes(db);
 	}
 
 	@Override
 	public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-		db.execSQL(SQL_DROP_TABLE_PERIODIC_DISPATCH);
-		db.execSQL(SQL_DROP_TABLE_OFFLINE_CACHE);
-		onCreate(db);
+		/**
+		 * Each step migrates schema of its previous version, so stored requests are kept whatever the old version is.
+		 */
+
+		/**
+		 * Rows stored by version 1 keep session code in their data, so their session code column is left empty.
+		 */
+		if (oldVersion < 2) {
+			db.execSQL(SQL_ADD_SESSION_CODE_TO_PERIODIC_DISPATCH);
+			db.execSQL(SQL_CLEAR_OFFLINE_CACHE_SESSION_CODE);
+		}
+
+		if (oldVersion < 3) {
+			createIndexes(db);
+		}
+
+		if (oldVersion < 4) {
+			db.execSQL(SQL_ADD_REQUEST_TYPE_TO_PERIODIC_DISPATCH);
+			db.execSQL(SQL_ADD_REQUEST_TYPE_TO_OFFLINE_CACHE);
+		}
+	}
+
+	private void createIndexes(SQLiteDatabase db) {
+		db.execSQL(SQL_CREATE_INDEX_PERIODIC_DISPATCH_IN_PROCESS);
+		db.execSQL(SQL_CREATE_INDEX_OFFLINE_CACHE_IN_PROCESS);
 	}
 
 	@SuppressLint("NewApi")
@@ -139,124 +275,314 @@ public class CurioDBHelper extends SQLiteOpenHelper {
 	}
 
 	/**
-	 * This method should always be used to get a DB connection since no need to open a DB connection if there is already an open one.
+	 * This method should always be used to get a DB connection. Connection is opened once and kept open for the lifetime of the process, so its statements are compiled only once.
+	 * It is never closed, since reopening it and recompiling its statements for each burst of requests costs more than keeping it open. SQLite keeps data consistent if process
+	 * is killed while connection is open.
 	 * 
 	 * @return
 	 */
 	public synchronized SQLiteDatabase openDatabase() {
-		if (openDBCount.incrementAndGet() == 1) {
-			// Open new database
+		if (this.database == null || !this.database.isOpen()) {
 			this.database = getWritableDatabase();
+			compileStatements(this.database);
+			syncOfflineCacheRowCount();
 		}
 		return this.database;
 	}
 
 	/**
-	 * This method should always be used to close a DB connection since if connection is used it should not be closed until nobody is using it.
+	 * Compiles statements used on write paths for given connection.
+	 * 
+	 * @param db
 	 */
-	public synchronized void closeDatabase() {
-		if (openDBCount.decrementAndGet() == 0) {
-			// Close database
-			this.database.close();
+	private void compileStatements(SQLiteDatabase db) {
+		for (TableStatements statements : tableStatements.values()) {
+			statements.close();
+		}
+
+		if (countOfflineCacheStatement != null) {
+			countOfflineCacheStatement.close();
+			countMovablePeriodicDispatchStatement.close();
+			movePeriodicDispatchStatement.close();
+			deleteMovedPeriodicDispatchStatement.close();
+			changesStatement.close();
 		}
+
+		tableStatements.put(CurioPeriodicDispatchEntry.TABLE_NAME, new TableStatements(db, CurioPeriodicDispatchEntry.TABLE_NAME));
+		tableStatements.put(CurioOfflineCacheEntry.TABLE_NAME, new TableStatements(db, CurioOfflineCacheEntry.TABLE_NAME));
+		countOfflineCacheStatement = db.compileStatement(SQL_COUNT_OFFLINE_CACHE);
+		countMovablePeriodicDispatchStatement = db.compileStatement(SQL_COUNT_MOVABLE_PERIODIC_DISPATCH);
+		movePeriodicDispatchStatement = db.compileStatement(SQL_MOVE_PERIODIC_DISPATCH_TO_OFFLINE_CACHE);
+		deleteMovedPeriodicDispatchStatement = db.compileStatement(SQL_DELETE_MOVED_PERIODIC_DISPATCH);
+		changesStatement = db.compileStatement(SQL_CHANGES);
 	}
 
 	/**
-	 * Writes an periodic dispatch request to DB for later dispatch.
+	 * Gets compiled statements of given table. Database should be opened first.
 	 * 
-	 * @param offlineRequest
-	 * @return true if write operation is successful.
+	 * @param tableName
+	 * @return
 	 */
-	public boolean persistOfflineRequestForPeriodicDispatch(OfflineRequest offlineRequest) {
+	private TableStatements getTableStatements(String tableName) {
+		TableStatements statements = tableStatements.get(tableName);
+
+		if (statements == null) {
+			throw new IllegalArgumentException("Unknown table: " + tableName);
+		}
+		return statements;
+	}
+
+	/**
+	 * Writes given periodic dispatch requests to DB for later dispatch in a single transaction.
+	 * 
+	 * @param offlineRequests
+	 * @return number of persisted requests.
+	 */
+	public synchronized int persistOfflineRequestsForPeriodicDispatch(List<OfflineRequest> offlineRequests) {
 		// To be on the safe side, set this param before inserting the actual data.
 		periodicDispatchRequestExists = true;
 
 		SQLiteDatabase db = null;
+		int persistedCount = 0;
 
 		try {
 			db = openDatabase();
 
-			ContentValues values = new ContentValues();
-
-			/**
-			 * Timestamp field is mandatory (for internal use not for server) for all requests stored in DB for ordered request fetching.
-			 */
-			values.put(CurioPeriodicDispatchEntry.COLUMN_NAME_TIMESTAMP, Long.toString((Long) offlineRequest.getParams().get(Constants.JSON_NODE_TIMESTAMP)));
+			SQLiteStatement insert = getTableStatements(CurioPeriodicDispatchEntry.TABLE_NAME).insert;
 
 			/**
-			 * Generate JSON data.
+			 * The whole batch will be in a transaction
 			 */
-			values.put(CurioPeriodicDispatchEntry.COLUMN_NAME_DATA, generateJSONData(offlineRequest.getParams()));
+			db.beginTransaction();
+
+			try {
+				for (OfflineRequest offlineRequest : offlineRequests) {
+					/**
+					 * Timestamp field is mandatory (for internal use not for server) for all requests stored in DB for ordered request fetching.
+					 */
+					insert.bindLong(INSERT_INDEX_TIMESTAMP, (Long) offlineRequest.getParams().get(Constants.JSON_NODE_TIMESTAMP));
+
+					/**
+					 * Session code is stored in its own column for grouping rows by session, so it is not repeated in JSON data.
+					 */
+					bindString(insert, INSERT_INDEX_SESSION_CODE, (String) offlineRequest.getParams().get(Constants.JSON_NODE_SESSION_CODE));
+
+					/**
+					 * Generate JSON data.
+					 */
+					insert.bindString(INSERT_INDEX_DATA, generateJSONData(offlineRequest.getParams()));
+
+					/**
+					 * Mark it as not in process
+					 */
+					insert.bindLong(INSERT_INDEX_IN_PROCESS, Constants.NOT_IN_PROCESS);
+
+					/**
+					 * Request type is stored in its own column for eviction policies.
+					 */
+					insert.bindLong(INSERT_INDEX_REQUEST_TYPE, (Integer) offlineRequest.getParams().get(Constants.JSON_NODE_TYPE));
+
+					long i = insert.executeInsert();
+
+					if (i != -1) {
+						persistedCount++;
+					}
 
-			/**
-			 * Mark it as not in process
-			 */
-			values.put(CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS, Constants.NOT_IN_PROCESS);
+					CurioLogger.v(TAG, "Row ID of newly inserted periodic dispatch request is {}", i);
+				}
 
-			long i = db.insert(CurioPeriodicDispatchEntry.TABLE_NAME, null, values);
+				db.setTransactionSuccessful();
+			} finally {
+				db.endTransaction();
+			}
 
-			CurioLogger.d(TAG, "Row ID of newly inserted periodic dispatch request is " + i);
-			return true;
+			return persistedCount;
 		} catch (SQLiteException e) {
 			CurioLogger.e(TAG, e.getMessage());
-			return false;
-		} finally {
-			closeDatabase();
+			return 0;
 		}
 	}
 
 	/**
-	 * Writes an offline request to DB for caching
+	 * Writes given offline requests to DB for caching in a single transaction.
 	 * 
-	 * @param offlineRequest
+	 * @param offlineRequests
 	 * 
-	 * @return true if write operation is successful.
+	 * @return number of persisted requests.
 	 */
-	public boolean persistOfflineRequestForCaching(OfflineRequest offlineRequest) {
+	public synchronized int persistOfflineRequestsForCaching(List<OfflineRequest> offlineRequests) {
 		/**
-		 * Check if max. offline cache size is reached.
-		 * If yes, do not store offline requests anymore.
+		 * Check how many more requests can be stored before max. offline cache size is reached.
+		 * If limit is reached, stored requests are evicted by eviction policy if there is one, otherwise do not store offline requests anymore.
 		 */
-		if (hasMaxCacheSizeReached()) {
+		IOfflineCacheEvictionPolicy evictionPolicy = offlineCacheEvictionPolicy;
+		int remainingCapacity = CurioClientSettings.getInstance(context).getMaxCachedActivityCount() - getRowCount();
+
+		if (remainingCapacity <= 0 && evictionPolicy == null) {
 			CurioLogger.i(TAG, "Cache size limit has been reached. No offline request will be stored until device goes online and sends stored analytics to server.");
-			return false;
+			return 0;
 		}
 
 		SQLiteDatabase db = null;
+		int persistedCount = 0;
+		int evictedCount = 0;
+		int[] evictedCountsByType = new int[REQUEST_TYPE_COUNT];
 
 		try {
 			db = openDatabase();
 
-			ContentValues values = new ContentValues();
+			SQLiteStatement insert = getTableStatements(CurioOfflineCacheEntry.TABLE_NAME).insert;
 
 			/**
-			 * Timestamp field is mandatory (for internal use not for server) for all requests stored in DB for ordered request fetching.
+			 * The whole batch will be in a transaction
 			 */
-			values.put(CurioOfflineCacheEntry.COLUMN_NAME_TIMESTAMP, Long.toString((Long) offlineRequest.getParams().get(Constants.JSON_NODE_TIMESTAMP)));
+			db.beginTransaction();
+
+			try {
+				/**
+				 * Evict stored requests in the same transaction, so they are not lost if new requests cannot be stored.
+				 */
+				if (evictionPolicy != null && remainingCapacity < offlineRequests.size()) {
+					evictedCount = evictStoredRequests(db, evictionPolicy, offlineRequests.size() - remainingCapacity, evictedCountsByType);
+					remainingCapacity += evictedCount;
+				}
+
+				for (OfflineRequest offlineRequest : offlineRequests) {
+					if (persistedCount >= remainingCapacity) {
+						CurioLogger.i(TAG, "Cache size limit has been reached. No offline request will be stored until device goes online and sends stored analytics to server.");
+						break;
+					}
 
-			/**
-			 * Generate JSON data.
-			 */
-			values.put(CurioOfflineCacheEntry.COLUMN_NAME_DATA, generateJSONData(offlineRequest.getParams()));
+					/**
+					 * Timestamp field is mandatory (for internal use not for server) for all requests stored in DB for ordered request fetching.
+					 */
+					insert.bindLong(INSERT_INDEX_TIMESTAMP, (Long) offlineRequest.getParams().get(Constants.JSON_NODE_TIMESTAMP));
 
-			/**
-			 * Mark it as not in process
-			 */
-			values.put(CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS, Constants.NOT_IN_PROCESS);
+					/**
+					 * Session code is stored in its own column for grouping rows by session, so it is not repeated in JSON data.
+					 */
+					bindString(insert, INSERT_INDEX_SESSION_CODE, (String) offlineRequest.getParams().get(Constants.JSON_NODE_SESSION_CODE));
+
+					/**
+					 * Generate JSON data.
+					 */
+					insert.bindString(INSERT_INDEX_DATA, generateJSONData(offlineRequest.getParams()));
+
+					/**
+					 * Mark it as not in process
+					 */
+					insert.bindLong(INSERT_INDEX_IN_PROCESS, Constants.NOT_IN_PROCESS);
 
-			long i = db.insert(CurioOfflineCacheEntry.TABLE_NAME, null, values);
-			CurioLogger.d(TAG, "Row ID of newly inserted offline request is " + i);
-			return true;
+					/**
+					 * Request type is stored in its own column for eviction policies.
+					 */
+					insert.bindLong(INSERT_INDEX_REQUEST_TYPE, (Integer) offlineRequest.getParams().get(Constants.JSON_NODE_TYPE));
+
+					long i = insert.executeInsert();
+
+					if (i != -1) {
+						persistedCount++;
+					}
+
+					CurioLogger.v(TAG, "Row ID of newly inserted offline request is {}", i);
+				}
+
+				db.setTransactionSuccessful();
+				offlineCacheRowCount.addAndGet(persistedCount - evictedCount);
+
+				for (int i = 0; i < REQUEST_TYPE_COUNT; i++) {
+					evictedRequestCounts.addAndGet(i, evictedCountsByType[i]);
+				}
+			} finally {
+				db.endTransaction();
+			}
+
+			return persistedCount;
 		} catch (SQLiteException e) {
 			CurioLogger.e(TAG, e.getMessage());
-			return false;
+			return 0;
+		}
+	}
+
+	/**
+	 * Deletes stored requests selected by given eviction policy from offline cache table.
+	 * 
+	 * @param db
+	 * @param evictionPolicy
+	 * @param count
+	 *            number of requests to evict.
+	 * @param evictedCountsByType
+	 *            evicted request counts are added to this array, indexed by request type + 1.
+	 * @return number of evicted requests.
+	 */
+	private int evictStoredRequests(SQLiteDatabase db, IOfflineCacheEvictionPolicy evictionPolicy, int count, int[] evictedCountsByType) {
+		long[] ids = evictionPolicy.selectEvictedRequests(db, count);
+
+		if (ids == null || ids.length == 0) {
+			return 0;
+		}
+
+		StringBuilder idList = new StringBuilder();
+
+		for (long id : ids) {
+			if (idList.length() > 0) {
+				idList.append(COMMA_SEP);
+			}
+			idList.append(id);
+		}
+
+		String whereClause = CurioOfflineCacheEntry._ID + " IN (" + idList + ") AND " + CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS + "=" + Constants.NOT_IN_PROCESS;
+
+		/**
+		 * Count evicted requests per type before deleting them.
+		 */
+		String[] columns = new String[] { CurioOfflineCacheEntry.COLUMN_NAME_REQUEST_TYPE, "count(*)" };
+		Cursor cursor = db.query(CurioOfflineCacheEntry.TABLE_NAME, columns, whereClause, null, CurioOfflineCacheEntry.COLUMN_NAME_REQUEST_TYPE, null, null);
+
+		try {
+			while (cursor.moveToNext()) {
+				int requestType = cursor.isNull(0) ? -1 : cursor.getInt(0);
+				evictedCountsByType[getRequestTypeIndex(requestType)] += cursor.getInt(1);
+			}
 		} finally {
-			closeDatabase();
+			cursor.close();
 		}
+
+		int evictedCount = db.delete(CurioOfflineCacheEntry.TABLE_NAME, whereClause, null);
+
+		CurioLogger.i(TAG, "Cache size limit has been reached. {} stored requests evicted to store new ones.", evictedCount);
+		CurioLogger.event(EventRingBuffer.EVENT_REQUESTS_EVICTED, evictedCount, 0);
+
+		return evictedCount;
+	}
+
+	private static int getRequestTypeIndex(int requestType) {
+		return requestType >= -1 && requestType < REQUEST_TYPE_COUNT - 1 ? requestType + 1 : 0;
+	}
+
+	/**
+	 * Gets number of requests of given type evicted from offline cache.
+	 * 
+	 * @param requestType
+	 *            request type of {@link CurioUtil#getRequestType(String)}.
+	 * @return
+	 */
+	public long getEvictedRequestCount(int requestType) {
+		return evictedRequestCounts.get(getRequestTypeIndex(requestType));
+	}
+
+	/**
+	 * Sets policy for making room in offline cache when it is full.
+	 * 
+	 * @param offlineCacheEvictionPolicy
+	 *            policy, or null if new requests should not be stored while cache is full.
+	 */
+	public void setOfflineCacheEvictionPolicy(IOfflineCacheEvictionPolicy offlineCacheEvictionPolicy) {
+		this.offlineCacheEvictionPolicy = offlineCacheEvictionPolicy;
 	}
 
 	/**
-	 * Generates JSON "data" node string from parameter map.
+	 * Generates JSON "data" node string from parameter map. Session code is excluded since it is stored in session code column.
 	 * 
 	 * @param params
 	 * @return JSON string
@@ -266,6 +592,10 @@ public class CurioDBHelper extends SQLiteOpenHelper {
 
 		try {
 			for (String key : params.keySet()) {
+				if (Constants.JSON_NODE_SESSION_CODE.equals(key)) {
+					continue;
+				}
+
 				Object paramValue = params.get(key);
 				json.put(key, paramValue);
 			}
@@ -277,115 +607,103 @@ public class CurioDBHelper extends SQLiteOpenHelper {
 	}
 
 
-	/**
-	 * Deletes periodic dispatch data which are marked as "in process"
-	 */
-	public void deleteInProcessPeriodicRequests() {
-		SQLiteDatabase db = null;
-		try {
-			db = openDatabase();
-
-			String whereClause = CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS + "=?";
-			String[] whereArgs = new String[] { Constants.IN_PROCESS_STR };
-
-			int i = db.delete(CurioPeriodicDispatchEntry.TABLE_NAME, whereClause, whereArgs);
-
-			CurioLogger.d(TAG, i + " rows deleted, since their process completed.");
-		} catch (Exception e) {
-			CurioLogger.e(TAG, e.getMessage(), e);
-		} finally {
-			closeDatabase();
-		}
-	}
-
 	/**
 	 * Sets "in process" periodic dispatch data as "not in process"
 	 */
-	public void setInProcessPeriodicRequestsAsNotInProcess() {
-		SQLiteDatabase db = null;
-
+	public synchronized void setInProcessPeriodicRequestsAsNotInProcess() {
 		try {
-			db = openDatabase();
-
-			ContentValues values = new ContentValues();
-
-			values.put(CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS, Constants.NOT_IN_PROCESS);
+			openDatabase();
 
-			String whereClause = CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS + "=?";
-			String[] whereArgs = new String[] { Constants.IN_PROCESS_STR };
+			int i = executeUpdateDelete(getTableStatements(CurioPeriodicDispatchEntry.TABLE_NAME).releaseInProcess);
 
-			int i = db.update(CurioPeriodicDispatchEntry.TABLE_NAME, values, whereClause, whereArgs);
+			if (i > 0) {
+				periodicDispatchRequestExists = true;
+			}
 
-			CurioLogger.d(TAG, i + " rows updated as NOT in process until next periodic dispatch check.");
+			CurioLogger.d(TAG, "{} rows updated as NOT in process until next periodic dispatch check.", i);
 		} catch (Exception e) {
 			CurioLogger.e(TAG, e.getMessage(), e);
-		} finally {
-			closeDatabase();
 		}
 	}
 
 
 	/**
-	 * Fetches stored requests from given table (periodic dispatch or offline cache)
+	 * Claims a page of stored requests from given table (periodic dispatch or offline cache) in insertion order.
+	 * 
+	 * Page contains at most maxRowCount rows and at most maxByteCount bytes of request data (but always at least one row). Only the rows in the page are marked as "in process".
 	 * 
 	 * @param tableName
-	 * @return
+	 * @param maxRowCount
+	 * @param maxByteCount
+	 * @return claimed page or null if there is no stored request.
 	 */
-	public String fetchStoredRequestsFromTable(String tableName) {
+	public synchronized StoredRequestPage claimStoredRequestPage(String tableName, int maxRowCount, int maxByteCount) {
 		SQLiteDatabase db = openDatabase();
 		Cursor cursor = null;
 
-		JSONArray array = null;
+		StoredRequestPage page = null;
 
 		try {
 			/**
 			 * The whole process will be in a transaction
 			 */
-			 db.beginTransaction();
+			db.beginTransaction();
 
 			/**
-			 * Fetch stored requests
+			 * Fetch ids and sizes of stored requests only. Request data itself is streamed to the connection while sending the page.
 			 */
+			String[] columns = new String[] { BaseColumns._ID, "length(" + BaseOfflineEntryColumns.COLUMN_NAME_DATA + ")" };
 			String selection = BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS + "=?";
 			String[] selectionArgs = new String[] { Constants.NOT_IN_PROCESS_STR };
-			String orderBy = BaseOfflineEntryColumns.COLUMN_NAME_TIMESTAMP + " DESC";
+			String orderBy = BaseColumns._ID + " ASC";
 
-			cursor = db.query(tableName, null, selection, selectionArgs, null, null, orderBy);
+			cursor = db.query(tableName, columns, selection, selectionArgs, null, null, orderBy, Integer.toString(maxRowCount));
+
+			long firstId = -1;
+			long lastId = -1;
+			int rowCount = 0;
+			int byteCount = 0;
 
 			if (cursor.moveToFirst()) {
-				array = new JSONArray();
 				do {
-					String data = cursor.getString(cursor.getColumnIndex(BaseOfflineEntryColumns.COLUMN_NAME_DATA));
-					try {
-						array.put(new JSONObject(data));
-					} catch (JSONException e) {
-						CurioLogger.e(TAG, e.getMessage(), e);
+					int dataLength = cursor.getInt(1);
+
+					/**
+					 * Stop if page size limit is exceeded, but always fetch at least one row.
+					 */
+					if (firstId != -1 && byteCount + dataLength > maxByteCount) {
+						break;
 					}
+
+					if (firstId == -1) {
+						firstId = cursor.getLong(0);
+					}
+					lastId = cursor.getLong(0);
+					rowCount++;
+					byteCount += dataLength;
 				} while (cursor.moveToNext());
 			}
 
 			/**
 			 * If no request data stored, abort dispatch.
 			 */
-			if (array == null || array.length() == 0) {
-				CurioLogger.d(TAG, "No stored activity found. Will check in " + CurioClientSettings.getInstance(context).getDispatchPeriod() + " min. again.");
+			if (lastId == -1) {
+				CurioLogger.d(TAG, "No stored activity found. Will check in {} min. again.", CurioClientSettings.getInstance(context).getDispatchPeriod());
 				return null;
 			}
 
 			/**
-			 * Set fetched requests as "in process"
+			 * Set fetched requests as "in process". All not in process rows up to last fetched id are in this page, since rows are fetched in id order.
 			 */
-			ContentValues values = new ContentValues();
-			values.put(BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS, Constants.IN_PROCESS);
-
-			String whereClause = BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS + "=?";
-			String[] whereArgs = new String[] { Constants.NOT_IN_PROCESS_STR };
+			SQLiteStatement claim = getTableStatements(tableName).claim;
+			claim.bindLong(1, lastId);
+			claim.execute();
 
-			int i = db.update(tableName, values, whereClause, whereArgs);
-
-			CurioLogger.d(TAG, i + " rows updated as in process until they sent...");
+			CurioLogger.d(TAG, "{} rows updated as in process until they sent...", rowCount);
 
 			db.setTransactionSuccessful();
+
+			page = new StoredRequestPage(tableName, firstId, lastId, rowCount, byteCount);
 		} catch (Exception e1) {
 			CurioLogger.e(TAG, e1.getMessage(), e1);
 		} finally {
@@ -394,70 +712,125 @@ public class CurioDBHelper extends SQLiteOpenHelper {
 			if(cursor != null){
 				cursor.close();
 			}
-			
-			closeDatabase();
 		}
 
-		if(array == null || array.length() == 0){
-			return null;
+		return page;
+	}
+
+	/**
+	 * Deletes requests of given page, since they are successfully sent.
+	 * 
+	 * @param page
+	 */
+	public synchronized void deleteStoredRequestPage(StoredRequestPage page) {
+		try {
+			openDatabase();
+
+			SQLiteStatement deletePage = getTableStatements(page.getTableName()).deletePage;
+			deletePage.bindLong(1, page.getFirstId());
+			deletePage.bindLong(2, page.getLastId());
+
+			int i = executeUpdateDelete(deletePage);
+
+			if (CurioOfflineCacheEntry.TABLE_NAME.equals(page.getTableName())) {
+				offlineCacheRowCount.addAndGet(-i);
+			}
+
+			CurioLogger.d(TAG, "{} rows deleted, since their process completed.", i);
+		} catch (Exception e) {
+			CurioLogger.e(TAG, e.getMessage(), e);
 		}
-		
-		return array.toString();
 	}
 
 	/**
-	 * Deletes offline requests which are marked as "in process"
+	 * Sets requests of given page as "not in process", so they can be claimed again.
+	 * 
+	 * @param page
 	 */
-	public void deleteInProcessOfflineRequests() {
-		SQLiteDatabase db = null;
+	public synchronized void releaseStoredRequestPage(StoredRequestPage page) {
 		try {
-			db = openDatabase();
+			openDatabase();
 
-			String whereClause = CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS + "=?";
-			String[] whereArgs = new String[] { Constants.IN_PROCESS_STR };
+			SQLiteStatement releasePage = getTableStatements(page.getTableName()).releasePage;
+			releasePage.bindLong(1, page.getFirstId());
+			releasePage.bindLong(2, page.getLastId());
 
-			int i = db.delete(CurioOfflineCacheEntry.TABLE_NAME, whereClause, whereArgs);
+			int i = executeUpdateDelete(releasePage);
 
-			CurioLogger.d(TAG, i + " rows deleted, since their process completed.");
+			if (i > 0 && CurioPeriodicDispatchEntry.TABLE_NAME.equals(page.getTableName())) {
+				periodicDispatchRequestExists = true;
+			}
 
+			CurioLogger.d(TAG, "{} rows updated as NOT in process and will be sent on next dispatch.", i);
 		} catch (Exception e) {
 			CurioLogger.e(TAG, e.getMessage(), e);
-		} finally {
-			closeDatabase();
 		}
 	}
 
 	/**
-	 * Sets "in process" offline requests as "not in process"
+	 * Opens a cursor on session code and request data of given page, ordered by id. Rows are read one by one from the cursor window, so the page is never loaded into memory as a
+	 * whole.
+	 * 
+	 * Rows are kept in insertion order, so consecutive rows of the same session form a group. Rows stored before session code column was added have null session code and keep
+	 * session code in their data.
+	 * 
+	 * Returned cursor should always be closed with {@link #closeStoredRequestPageCursor(Cursor)}.
+	 * 
+	 * @param page
+	 * @return
 	 */
-	public void setInProcessOfflineRequestsAsNotInProcess() {
-		SQLiteDatabase db = null;
+	public Cursor openStoredRequestPageCursor(StoredRequestPage page) {
+		SQLiteDatabase db = openDatabase();
 
 		try {
-			db = openDatabase();
+			String[] columns = new String[] { BaseOfflineEntryColumns.COLUMN_NAME_SESSION_CODE, BaseOfflineEntryColumns.COLUMN_NAME_DATA };
+			String selection = BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS + "=? AND " + BaseColumns._ID + " BETWEEN ? AND ?";
+			String[] selectionArgs = new String[] { Constants.IN_PROCESS_STR, Long.toString(page.getFirstId()), Long.toString(page.getLastId()) };
+			String orderBy = BaseColumns._ID + " ASC";
 
-			ContentValues values = new ContentValues();
+			return db.query(page.getTableName(), columns, selection, selectionArgs, null, null, orderBy);
+		} catch (RuntimeException e) {
+			CurioLogger.e(TAG, e.getMessage(), e);
+			throw e;
+		}
+	}
 
-			values.put(CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS, Constants.NOT_IN_PROCESS);
+	/**
+	 * Closes given cursor opened by {@link #openStoredRequestPageCursor(StoredRequestPage)}.
+	 * 
+	 * @param cursor
+	 */
+	public void closeStoredRequestPageCursor(Cursor cursor) {
+		if (cursor != null) {
+			cursor.close();
+		}
+	}
 
-			String whereClause = CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS + "=?";
-			String[] whereArgs = new String[] { Constants.IN_PROCESS_STR };
+	/**
+	 * Sets "in process" offline requests as "not in process"
+	 */
+	public synchronized void setInProcessOfflineRequestsAsNotInProcess() {
+		try {
+			openDatabase();
 
-			int i = db.update(CurioOfflineCacheEntry.TABLE_NAME, values, whereClause, whereArgs);
+			int i = executeUpdateDelete(getTableStatements(CurioOfflineCacheEntry.TABLE_NAME).releaseInProcess);
 
-			CurioLogger.d(TAG, i + " rows updated as NOT in process and will be send next time device is online");
+			CurioLogger.d(TAG, "{} rows updated as NOT in process and will be send next time device is online", i);
 		} catch (Exception e) {
 			CurioLogger.e(TAG, e.getMessage(), e);
-		} finally {
-			closeDatabase();
 		}
 	}
 
 	
 	/**
-	 * Converts and inserts all stored periodic dispatch data into offline request table.
+	 * Moves all stored periodic dispatch data, except a page being sent, into offline request table.
+	 * 
+	 * Rows are copied with a single INSERT ... SELECT and deleted in the same transaction, so they are never read into memory.
+	 * 
+	 * Offline cache size limit is respected the same way as storing offline requests: stored requests are evicted by eviction policy to make room, and only as many rows as fit
+	 * are moved, oldest first. Remaining rows are kept in periodic dispatch table and moved later.
 	 */
-	public void moveAllExistingPeriodicDispatchDataToOfflineTable() {
+	public synchronized void moveAllExistingPeriodicDispatchDataToOfflineTable() {
 		
 		/**
 		 * Check if there is any stored periodic request.
@@ -466,134 +839,168 @@ public class CurioDBHelper extends SQLiteOpenHelper {
 			return;
 		}
 
+		IOfflineCacheEvictionPolicy evictionPolicy = offlineCacheEvictionPolicy;
+		int remainingCapacity = CurioClientSettings.getInstance(context).getMaxCachedActivityCount() - getRowCount();
+
 		/**
 		 * Check if offline cache is full or not.
 		 */
-		if (hasMaxCacheSizeReached()) {
+		if (remainingCapacity <= 0 && evictionPolicy == null) {
 			CurioLogger.i(TAG, "Cache capacity limit has been reached. No offline request will be stored until device goes online and sends stored analytics to server.");
+			return;
 		}
 
 		SQLiteDatabase db = openDatabase();
-
-		Cursor cursor = null;
-		
-		List<String[]> rowList = new ArrayList<String[]>();
+		int evictedCount = 0;
+		int[] evictedCountsByType = new int[REQUEST_TYPE_COUNT];
 
 		try {
 			/**
 			 * The whole process will be in a transaction
 			 */
-			 db.beginTransaction();
+			db.beginTransaction();
 
-			/**
-			 * Fetch stored requests
-			 */
-			String selection = CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS + "=?";
-			String[] selectionArgs = new String[] { Constants.NOT_IN_PROCESS_STR };
-			String orderBy = CurioPeriodicDispatchEntry.COLUMN_NAME_TIMESTAMP + " DESC";
+			try {
+				int movableCount = (int) countMovablePeriodicDispatchStatement.simpleQueryForLong();
+				remainingCapacity = Math.max(remainingCapacity, 0);
 
-			cursor = db.query(CurioPeriodicDispatchEntry.TABLE_NAME, null, selection, selectionArgs, null, null, orderBy);
+				/**
+				 * Evict stored requests in the same transaction, so they are not lost if periodic dispatch rows cannot be moved.
+				 */
+				if (evictionPolicy != null && remainingCapacity < movableCount) {
+					evictedCount = evictStoredRequests(db, evictionPolicy, movableCount - remainingCapacity, evictedCountsByType);
+					remainingCapacity += evictedCount;
+				}
 
-			if (cursor.moveToFirst()) {
-				String[] row = new String[5];
-				do {
-					row[0] = cursor.getString(cursor.getColumnIndex(CurioPeriodicDispatchEntry.COLUMN_NAME_DATA));
-					row[1] = cursor.getString(cursor.getColumnIndex(CurioPeriodicDispatchEntry.COLUMN_NAME_TIMESTAMP));
+				int moveLimit = Math.min(movableCount, remainingCapacity);
 
-					rowList.add(row);
-				} while (cursor.moveToNext());
-			}
+				movePeriodicDispatchStatement.bindLong(1, moveLimit);
+				movePeriodicDispatchStatement.execute();
+				int movedCount = (int) changesStatement.simpleQueryForLong();
 
-			/**
-			 * Update them as in process...
-			 */
-			ContentValues values = new ContentValues();
-			values.put(CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS, Constants.IN_PROCESS);
+				deleteMovedPeriodicDispatchStatement.bindLong(1, moveLimit);
+				deleteMovedPeriodicDispatchStatement.execute();
 
-			String whereClause = CurioPeriodicDispatchEntry.COLUMN_NAME_IN_PROCESS + "=?";
-			String[] whereArgs = new String[] { Constants.NOT_IN_PROCESS_STR };
+				db.setTransactionSuccessful();
+				offlineCacheRowCount.addAndGet(movedCount - evictedCount);
 
-			int i = db.update(CurioPeriodicDispatchEntry.TABLE_NAME, values, whereClause, whereArgs);
+				for (int i = 0; i < REQUEST_TYPE_COUNT; i++) {
+					evictedRequestCounts.addAndGet(i, evictedCountsByType[i]);
+				}
 
-			CurioLogger.d(TAG, i + " rows updated as in process until processing finishes...");
+				if (movedCount < movableCount) {
+					CurioLogger.i(TAG, "Cache capacity limit has been reached. {} periodic dispatch requests will be moved to offline cache later.", movableCount - movedCount);
+				} else {
+					periodicDispatchRequestExists = false;
+				}
 
-			/**
-			 * Add fetched requests to offline table.
-			 * 
-			 * Also add session code to the requests while storing them on offline cache table.
-			 */
-			for (String[] row : rowList) {
-				values = new ContentValues();
-				values.put(CurioOfflineCacheEntry.COLUMN_NAME_SESSION_CODE, clientInstance.getSessionCode(false));
-				values.put(CurioOfflineCacheEntry.COLUMN_NAME_DATA, row[0]);
-				values.put(CurioOfflineCacheEntry.COLUMN_NAME_TIMESTAMP, row[1]);
-				values.put(CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS, Constants.NOT_IN_PROCESS);
-
-				long rowId = db.insert(CurioOfflineCacheEntry.TABLE_NAME, null, values);
-				CurioLogger.d(TAG, "Row ID of newly added offline request is " + rowId);
+				CurioLogger.d(TAG, "{} periodic dispatch requests moved to offline cache.", movedCount);
+			} finally {
+				db.endTransaction();
 			}
-
-			/**
-			 * Delete all from periodic dispatch table
-			 */
-			deleteInProcessPeriodicRequests();
-			periodicDispatchRequestExists = false;
-
-			db.setTransactionSuccessful();
-		} catch (Exception e1) {
-			CurioLogger.e(TAG, e1.getMessage(), e1);
-		} finally {
-			db.endTransaction();
-			
-			if(cursor != null){
-				cursor.close();
-			}
-			
-			closeDatabase();
+		} catch (Exception e) {
+			CurioLogger.e(TAG, e.getMessage(), e);
 		}
 	}
 
 	/**
-	 * Checks if offline cache size limit reached or not.
+	 * Gets row count of offline cache table from maintained counter, without a query.
 	 * 
 	 * @return
 	 */
-	private boolean hasMaxCacheSizeReached() {
-		int rowCount = getRowCount();
-
-		if (rowCount < CurioClientSettings.getInstance(context).getMaxCachedActivityCount()) {
-			return false;
-		}
-
-		return true;
+	private int getRowCount() {
+		openDatabase();
+		return offlineCacheRowCount.get();
 	}
 
 	/**
-	 * Efficient way of getting row count.
+	 * Gets number of requests stored in offline cache.
 	 * 
-	 * @param tableName
 	 * @return
 	 */
-	private int getRowCount() {
-		int count = 0;
-		SQLiteDatabase db = openDatabase();
-		Cursor countCursor = null;
+	public int getOfflineCacheRowCount() {
+		return getRowCount();
+	}
 
+	/**
+	 * Synchronizes offline cache row counter with the table, with a compiled count statement. Database should be opened first.
+	 */
+	private synchronized void syncOfflineCacheRowCount() {
 		try {
-			countCursor = db.query(CurioOfflineCacheEntry.TABLE_NAME, new String[] { "count(*) AS count" }, null, null, null, null, null);
+			int count = (int) countOfflineCacheStatement.simpleQueryForLong();
+			int previousCount = offlineCacheRowCount.getAndSet(count);
 
-			countCursor.moveToFirst();
-			count = countCursor.getInt(0);
+			if (previousCount != 0 && previousCount != count) {
+				CurioLogger.w(TAG, "Offline cache row counter was {}, synchronized to {}", previousCount, count);
+			}
 		} catch (Exception e) {
 			CurioLogger.e(TAG, e.getMessage(), e);
-		} finally {
-			if(countCursor != null){
-				countCursor.close();
-			}
-			
-			closeDatabase();
+		}
+	}
+
+	/**
+	 * Binds given string or null to given statement.
+	 */
+	private static void bindString(SQLiteStatement statement, int index, String value) {
+		if (value == null) {
+			statement.bindNull(index);
+		} else {
+			statement.bindString(index, value);
+		}
+	}
+
+	/**
+	 * Executes given UPDATE or DELETE statement.
+	 * 
+	 * SQLiteStatement.executeUpdateDelete() is not available below API level 11, so number of affected rows is queried with a compiled changes() statement there.
+	 * 
+	 * @param statement
+	 * @return number of affected rows.
+	 */
+	@SuppressLint("NewApi")
+	private int executeUpdateDelete(SQLiteStatement statement) {
+		if (Build.VERSION.SDK_INT >= Constants.HONEYCOMB_SDK_INT) {
+			return statement.executeUpdateDelete();
 		}
 
-		return count;
+		statement.execute();
+		return (int) changesStatement.simpleQueryForLong();
+	}
+
+	/**
+	 * Compiled statements of a request table.
+	 */
+	private static class TableStatements {
+		private final SQLiteStatement insert;
+		private final SQLiteStatement claim;
+		private final SQLiteStatement deletePage;
+		private final SQLiteStatement releasePage;
+		private final SQLiteStatement releaseInProcess;
+
+		private TableStatements(SQLiteDatabase db, String tableName) {
+			insert = db.compileStatement("INSERT INTO " + tableName + " (" + BaseOfflineEntryColumns.COLUMN_NAME_SESSION_CODE + COMMA_SEP + BaseOfflineEntryColumns.COLUMN_NAME_DATA
+					+ COMMA_SEP + BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS + COMMA_SEP + BaseOfflineEntryColumns.COLUMN_NAME_TIMESTAMP + COMMA_SEP
+					+ BaseOfflineEntryColumns.COLUMN_NAME_REQUEST_TYPE + ") VALUES (?,?,?,?,?)");
+
+			claim = db.compileStatement("UPDATE " + tableName + " SET " + BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS + "=" + Constants.IN_PROCESS + " WHERE "
+					+ BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS + "=" + Constants.NOT_IN_PROCESS + " AND " + BaseColumns._ID + "<=?");
+
+			deletePage = db.compileStatement("DELETE FROM " + tableName + " WHERE " + BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS + "=" + Constants.IN_PROCESS + " AND "
+					+ BaseColumns._ID + " BETWEEN ? AND ?");
+
+			releasePage = db.compileStatement("UPDATE " + tableName + " SET " + BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS + "=" + Constants.NOT_IN_PROCESS + " WHERE "
+					+ BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS + "=" + Constants.IN_PROCESS + " AND " + BaseColumns._ID + " BETWEEN ? AND ?");
+
+			releaseInProcess = db.compileStatement("UPDATE " + tableName + " SET " + BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS + "=" + Constants.NOT_IN_PROCESS + " WHERE "
+					+ BaseOfflineEntryColumns.COLUMN_NAME_IN_PROCESS + "=" + Constants.IN_PROCESS);
+		}
+
+		private void close() {
+			insert.close();
+			claim.close();
+			deletePage.close();
+			releasePage.close();
+			releaseInProcess.close();
+		}
 	}
 }
@@ -0,0 +1,386 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.params.ConnManagerParams;
+import org.apache.http.conn.params.ConnPerRouteBean;
+import org.apache.http.conn.scheme.LayeredSocketFactory;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SocketFactory;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.params.HttpProtocolParams;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Shared HTTP transport for all Curio requests (online/offline/periodic).
+ *
+ * Holds one long-lived HttpClient backed by a thread-safe connection pool, so keep-alive connections are reused between requests instead of opening a new TCP/TLS connection for every hit.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class CurioHttpClient {
+	private static final String TAG = "CurioHttpClient";
+
+	private static CurioHttpClient instance;
+
+	private final DefaultHttpClient httpClient;
+	private final ConnPerRouteBean connPerRoute = new ConnPerRouteBean(Constants.HTTP_MAX_CONNECTIONS_PER_ROUTE);
+
+	/**
+	 * Max. total time for a request in ms. Request is aborted by {@link DispatchWatchdog} when it passes.
+	 */
+	private volatile long requestDeadline = Constants.CONFIG_PARAM_DEFAULT_VALUE_REQUEST_DEADLINE_IN_MILLIS;
+
+	/**
+	 * Using atomic longs since requests may be executed from different threads.
+	 */
+	private final AtomicLong requestCount = new AtomicLong();
+	private final AtomicLong newConnectionCount = new AtomicLong();
+
+	/**
+	 * Getter for singleton instance of shared HTTP transport.
+	 *
+	 * @return
+	 */
+	public static synchronized CurioHttpClient getInstance() {
+		if (instance == null) {
+			instance = new CurioHttpClient();
+		}
+		return instance;
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private CurioHttpClient() {
+		HttpParams params = new BasicHttpParams();
+		HttpProtocolParams.setVersion(params, HttpVersion.HTTP_1_1);
+		HttpProtocolParams.setContentCharset(params, HTTP.UTF_8);
+		HttpConnectionParams.setStaleCheckingEnabled(params, true);
+		HttpConnectionParams.setConnectionTimeout(params, Constants.CONFIG_PARAM_DEFAULT_VALUE_CONNECT_TIMEOUT_IN_MILLIS);
+		HttpConnectionParams.setSoTimeout(params, Constants.CONFIG_PARAM_DEFAULT_VALUE_READ_TIMEOUT_IN_MILLIS);
+		ConnManagerParams.setTimeout(params, Constants.CONFIG_PARAM_DEFAULT_VALUE_CONNECT_TIMEOUT_IN_MILLIS);
+		ConnManagerParams.setMaxTotalConnections(params, Constants.HTTP_MAX_TOTAL_CONNECTIONS);
+		ConnManagerParams.setMaxConnectionsPerRoute(params, connPerRoute);
+
+		SchemeRegistry schemeRegistry = new SchemeRegistry();
+		schemeRegistry.register(new Scheme("http", new CountingSocketFactory(PlainSocketFactory.getSocketFactory()), 80));
+		schemeRegistry.register(new Scheme("https", new CountingLayeredSocketFactory(SSLSocketFactory.getSocketFactory()), 443));
+
+		ClientConnectionManager connectionManager = new ThreadSafeClientConnManager(params, schemeRegistry);
+
+		httpClient = new DefaultHttpClient(connectionManager, params);
+		httpClient.setKeepAliveStrategy(new DefaultConnectionKeepAliveStrategy() {
+			@Override
+			public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+				long duration = super.getKeepAliveDuration(response, context);
+
+				/**
+				 * If server does not specify a keep-alive timeout, keep connection for a default duration instead of forever.
+				 */
+				if (duration <= 0) {
+					duration = Constants.HTTP_KEEP_ALIVE_DURATION_IN_MILLIS;
+				}
+				return duration;
+			}
+		});
+	}
+
+	/**
+	 * Sets timeouts of requests.
+	 *
+	 * @param connectTimeout
+	 *            max. time to wait for a connection (and for a free pooled connection) in ms.
+	 * @param readTimeout
+	 *            max. time to wait for data on socket in ms.
+	 * @param requestDeadline
+	 *            max. total time for a request in ms, including connecting, sending request and reading response.
+	 */
+	public void setTimeouts(int connectTimeout, int readTimeout, int requestDeadline) {
+		HttpParams params = httpClient.getParams();
+		HttpConnectionParams.setConnectionTimeout(params, connectTimeout);
+		HttpConnectionParams.setSoTimeout(params, readTimeout);
+		ConnManagerParams.setTimeout(params, connectTimeout);
+		this.requestDeadline = requestDeadline;
+	}
+
+	/**
+	 * Sets max. number of pooled connections to the same server. Should be increased when requests are sent concurrently.
+	 *
+	 * @param maxConnectionsPerRoute
+	 */
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		connPerRoute.setDefaultMaxPerRoute(Math.min(maxConnectionsPerRoute, Constants.HTTP_MAX_TOTAL_CONNECTIONS));
+	}
+
+	/**
+	 * Executes given request on the shared connection pool.
+	 *
+	 * Response content is not buffered, it is streamed from the connection. Request deadline stays armed until response entity is consumed, so a slow response is aborted while
+	 * it is read too. If deadline passes, request is aborted and an IOException is thrown. Response should always be finished with either
+	 * {@link #consumeContent(HttpResponse)} or {@link #readResponseBody(HttpResponse)}.
+	 *
+	 * @param request
+	 * @return
+	 * @throws IOException
+	 */
+	public HttpResponse execute(HttpUriRequest request) throws IOException {
+		requestCount.incrementAndGet();
+
+		TimerTask deadlineTask = DispatchWatchdog.getInstance().scheduleDeadline(request, requestDeadline);
+		boolean completed = true;
+
+		try {
+			HttpResponse httpResponse = httpClient.execute(request);
+			HttpEntity entity = httpResponse.getEntity();
+
+			ServerCapabilities.getInstance().update(httpResponse);
+
+			if (entity != null) {
+				httpResponse.setEntity(new DeadlineEntity(entity, request, deadlineTask));
+				completed = false;
+			}
+			return httpResponse;
+		} catch (IOException e) {
+			throw toDeadlineException(request, e);
+		} finally {
+			if (completed) {
+				deadlineTask.cancel();
+				DispatchWatchdog.getInstance().requestCompleted();
+			}
+		}
+	}
+
+	/**
+	 * Consumes the remaining content of given response, so the underlying connection can be released back to the pool. If content cannot be read, request is aborted so the
+	 * connection is not reused.
+	 *
+	 * @param httpResponse
+	 */
+	public static void consumeContent(HttpResponse httpResponse) {
+		if (httpResponse == null) {
+			return;
+		}
+
+		HttpEntity entity = httpResponse.getEntity();
+
+		if (entity != null) {
+			try {
+				entity.consumeContent();
+			} catch (IOException e) {
+				CurioLogger.e(TAG, e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * Reads content of given response into memory within request deadline and releases the connection. Used only if response is handed to a result listener, other responses
+	 * should be consumed with {@link #consumeContent(HttpResponse)}.
+	 *
+	 * @param httpResponse
+	 * @return
+	 * @throws IOException
+	 *             if content cannot be read or request deadline passes while reading.
+	 */
+	public static ResponseBody readResponseBody(HttpResponse httpResponse) throws IOException {
+		HttpEntity entity = httpResponse.getEntity();
+
+		if (entity == null) {
+			return new ResponseBody(null);
+		}
+
+		try {
+			return new ResponseBody(new BufferedHttpEntity(entity));
+		} catch (IOException e) {
+			throw entity instanceof DeadlineEntity ? toDeadlineException(((DeadlineEntity) entity).request, e) : e;
+		} finally {
+			consumeContent(httpResponse);
+		}
+	}
+
+	private static IOException toDeadlineException(HttpUriRequest request, IOException e) {
+		if (request.isAborted()) {
+			return new InterruptedIOException("Request deadline exceeded.");
+		}
+		return e;
+	}
+
+	/**
+	 * Closes expired and idle pooled connections.
+	 */
+	public void closeExpiredConnections() {
+		ClientConnectionManager connectionManager = httpClient.getConnectionManager();
+		connectionManager.closeExpiredConnections();
+		connectionManager.closeIdleConnections(Constants.HTTP_KEEP_ALIVE_DURATION_IN_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Closes all idle pooled connections, i.e. when session ends and no request is expected for a while. Pool is kept, so it can open new connections.
+	 */
+	public void closeIdleConnections() {
+		httpClient.getConnectionManager().closeIdleConnections(0, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Shuts down the connection pool. A new transport will be created on next call to {@link #getInstance()}.
+	 */
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			instance.httpClient.getConnectionManager().shutdown();
+			instance = null;
+		}
+	}
+
+	/**
+	 * Gets total number of executed requests.
+	 *
+	 * @return
+	 */
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	/**
+	 * Gets number of newly opened connections, means number of TCP (and TLS for https) handshakes.
+	 *
+	 * @return
+	 */
+	public long getNewConnectionCount() {
+		return newConnectionCount.get();
+	}
+
+	/**
+	 * Gets number of requests that are sent over an already open keep-alive connection.
+	 *
+	 * @return
+	 */
+	public long getReusedConnectionCount() {
+		return Math.max(0, requestCount.get() - newConnectionCount.get());
+	}
+
+	/**
+	 * Gets handshake rate, ratio of newly opened connections to executed requests.
+	 *
+	 * @return
+	 */
+	public float getHandshakeRate() {
+		long requests = requestCount.get();
+
+		if (requests == 0) {
+			return 0f;
+		}
+
+		return (float) newConnectionCount.get() / requests;
+	}
+
+	/**
+	 * Response entity wrapper that keeps request deadline armed until content is consumed.
+	 */
+	private static class DeadlineEntity extends HttpEntityWrapper {
+		private final HttpUriRequest request;
+		private final TimerTask deadlineTask;
+		private boolean completed = false;
+
+		public DeadlineEntity(HttpEntity entity, HttpUriRequest request, TimerTask deadlineTask) {
+			super(entity);
+			this.request = request;
+			this.deadlineTask = deadlineTask;
+		}
+
+		@Override
+		public void consumeContent() throws IOException {
+			try {
+				super.consumeContent();
+			} catch (IOException e) {
+				request.abort();
+				throw toDeadlineException(request, e);
+			} finally {
+				complete();
+			}
+		}
+
+		private synchronized void complete() {
+			if (!completed) {
+				completed = true;
+				deadlineTask.cancel();
+				DispatchWatchdog.getInstance().requestCompleted();
+			}
+		}
+	}
+
+	/**
+	 * Socket factory wrapper that counts newly opened connections.
+	 */
+	private class CountingSocketFactory implements SocketFactory {
+		private final SocketFactory delegate;
+
+		public CountingSocketFactory(SocketFactory delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Socket createSocket() throws IOException {
+			return delegate.createSocket();
+		}
+
+		@Override
+		public Socket connectSocket(Socket sock, String host, int port, InetAddress localAddress, int localPort, HttpParams params) throws IOException, UnknownHostException,
+				ConnectTimeoutException {
+			newConnectionCount.incrementAndGet();
+			return delegate.connectSocket(sock, host, port, localAddress, localPort, params);
+		}
+
+		@Override
+		public boolean isSecure(Socket sock) throws IllegalArgumentException {
+			return delegate.isSecure(sock);
+		}
+	}
+
+	/**
+	 * Layered (TLS) socket factory wrapper that counts newly opened connections.
+	 */
+	private class CountingLayeredSocketFactory extends CountingSocketFactory implements LayeredSocketFactory {
+		private final LayeredSocketFactory layeredDelegate;
+
+		public CountingLayeredSocketFactory(LayeredSocketFactory delegate) {
+			super(delegate);
+			this.layeredDelegate = delegate;
+		}
+
+		@Override
+		public Socket createSocket(Socket socket, String host, int port, boolean autoClose) throws IOException, UnknownHostException {
+			return layeredDelegate.createSocket(socket, host, port, autoClose);
+		}
+	}
+}
@@ -15,6 +15,17 @@ import com.turkcell.curio.BuildConfig;
  *
  */
 public class CurioLogger {
+	private static volatile EventRingBuffer eventBuffer;
+
+	/**
+	 * Checks if debug and verbose logs are written. Call sites that log in loops should check this before building anything.
+	 * 
+	 * @return
+	 */
+	public static boolean isDebugEnabled() {
+		return CurioClientSettings.isLoggingEnabled() && BuildConfig.DEBUG;
+	}
+
 	public static void i(String tag, String string) {
 		if (CurioClientSettings.isLoggingEnabled()) {
 			android.util.Log.i(tag, string);
@@ -74,4 +85,146 @@ public class CurioLogger {
 			android.util.Log.w(tag, string, t);
 		}
 	}
+
+	/**
+	 * Parameterized logging methods. Message is only formatted if log level is enabled, each "{}" in format is replaced by next argument. Fixed arities are used instead of varargs
+	 * to avoid allocating argument arrays on disabled levels.
+	 */
+	public static void d(String tag, String format, Object arg1) {
+		if (isDebugEnabled()) {
+			android.util.Log.d(tag, format(format, arg1, null, null));
+		}
+	}
+
+	public static void d(String tag, String format, Object arg1, Object arg2) {
+		if (isDebugEnabled()) {
+			android.util.Log.d(tag, format(format, arg1, arg2, null));
+		}
+	}
+
+	public static void d(String tag, String format, Object arg1, Object arg2, Object arg3) {
+		if (isDebugEnabled()) {
+			android.util.Log.d(tag, format(format, arg1, arg2, arg3));
+		}
+	}
+
+	public static void v(String tag, String format, Object arg1) {
+		if (isDebugEnabled()) {
+			android.util.Log.v(tag, format(format, arg1, null, null));
+		}
+	}
+
+	public static void v(String tag, String format, Object arg1, Object arg2) {
+		if (isDebugEnabled()) {
+			android.util.Log.v(tag, format(format, arg1, arg2, null));
+		}
+	}
+
+	public static void v(String tag, String format, Object arg1, Object arg2, Object arg3) {
+		if (isDebugEnabled()) {
+			android.util.Log.v(tag, format(format, arg1, arg2, arg3));
+		}
+	}
+
+	public static void i(String tag, String format, Object arg1) {
+		if (CurioClientSettings.isLoggingEnabled()) {
+			android.util.Log.i(tag, format(format, arg1, null, null));
+		}
+	}
+
+	public static void i(String tag, String format, Object arg1, Object arg2) {
+		if (CurioClientSettings.isLoggingEnabled()) {
+			android.util.Log.i(tag, format(format, arg1, arg2, null));
+		}
+	}
+
+	public static void w(String tag, String format, Object arg1) {
+		if (CurioClientSettings.isLoggingEnabled()) {
+			android.util.Log.w(tag, format(format, arg1, null, null));
+		}
+	}
+
+	public static void w(String tag, String format, Object arg1, Object arg2) {
+		if (CurioClientSettings.isLoggingEnabled()) {
+			android.util.Log.w(tag, format(format, arg1, arg2, null));
+		}
+	}
+
+	public static void w(String tag, String format, Object arg1, Object arg2, Object arg3) {
+		if (CurioClientSettings.isLoggingEnabled()) {
+			android.util.Log.w(tag, format(format, arg1, arg2, arg3));
+		}
+	}
+
+	public static void e(String tag, String format, Object arg1) {
+		if (CurioClientSettings.isLoggingEnabled()) {
+			android.util.Log.e(tag, format(format, arg1, null, null));
+		}
+	}
+
+	public static void e(String tag, String format, Object arg1, Object arg2) {
+		if (CurioClientSettings.isLoggingEnabled()) {
+			android.util.Log.e(tag, format(format, arg1, arg2, null));
+		}
+	}
+
+	public static void e(String tag, String format, Object arg1, Throwable t) {
+		if (CurioClientSettings.isLoggingEnabled()) {
+			android.util.Log.e(tag, format(format, arg1, null, null), t);
+		}
+	}
+
+	/**
+	 * Replaces "{}" placeholders of given format with given arguments in order.
+	 */
+	private static String format(String format, Object arg1, Object arg2, Object arg3) {
+		StringBuilder builder = new StringBuilder(format.length() + 32);
+		int argIndex = 0;
+		int start = 0;
+		int index;
+
+		while ((index = format.indexOf("{}", start)) != -1 && argIndex < 3) {
+			builder.append(format, start, index);
+			builder.append(argIndex == 0 ? arg1 : (argIndex == 1 ? arg2 : arg3));
+			argIndex++;
+			start = index + 2;
+		}
+
+		builder.append(format, start, format.length());
+		return builder.toString();
+	}
+
+	/**
+	 * Enables in-memory event buffer with given capacity, or disables it if capacity is 0.
+	 * 
+	 * @param capacity
+	 */
+	public static void setEventBufferSize(int capacity) {
+		eventBuffer = capacity > 0 ? new EventRingBuffer(capacity) : null;
+	}
+
+	/**
+	 * Records given event to event buffer if it is enabled. Event codes are defined in {@link EventRingBuffer}.
+	 * 
+	 * @param eventCode
+	 * @param arg1
+	 * @param arg2
+	 */
+	public static void event(int eventCode, long arg1, long arg2) {
+		EventRingBuffer buffer = eventBuffer;
+
+		if (buffer != null) {
+			buffer.record(eventCode, arg1, arg2);
+		}
+	}
+
+	/**
+	 * Dumps recent events in event buffer.
+	 * 
+	 * @return dumped events, or null if event buffer is disabled.
+	 */
+	public static String dumpEvents() {
+		EventRingBuffer buffer = eventBuffer;
+		return buffer == null ? null : buffer.dump();
+	}
 }
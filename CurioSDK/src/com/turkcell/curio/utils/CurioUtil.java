@@ -6,7 +6,10 @@
  */
 package com.turkcell.curio.utils;
 
-import java.util.UUID;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.http.protocol.HTTP;
 
 
 /**
@@ -16,6 +19,7 @@ import java.util.UUID;
  *
  */
 public class CurioUtil {
+	private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes();
 	
 //	/**
 //	 * !!Legacy method from 8digits. May be removed!!
@@ -45,12 +49,12 @@ public class CurioUtil {
 	}
 	
 	/**
-	 * Generates a version 4 Universally Unique Identifier.
+	 * Generates a version 4 Universally Unique Identifier with random generator of current thread, see {@link UUIDGenerator#generateRandomUUID()}.
 	 * 
 	 * @return
 	 */
 	public static String generateRandomUUID(){
-		return UUID.randomUUID().toString();
+		return UUIDGenerator.generateRandomUUID().toString();
 	}
 	
 	/**
@@ -75,4 +79,46 @@ public class CurioUtil {
 		
 		return type;
 	}
+
+	/**
+	 * Writes given string as application/x-www-form-urlencoded with UTF-8 charset, same as URLEncoder does.
+	 * 
+	 * @param value
+	 * @param out
+	 * @throws IOException
+	 */
+	public static void writeUrlEncoded(String value, OutputStream out) throws IOException {
+		byte[] bytes = value.getBytes(HTTP.UTF_8);
+
+		for (int i = 0; i < bytes.length; i++) {
+			int b = bytes[i] & 0xFF;
+
+			if ((b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '-' || b == '_' || b == '.' || b == '*') {
+				out.write(b);
+			} else if (b == ' ') {
+				out.write('+');
+			} else {
+				out.write('%');
+				out.write(HEX_DIGITS[b >> 4]);
+				out.write(HEX_DIGITS[b & 0x0F]);
+			}
+		}
+	}
+
+	/**
+	 * Writes given parameter as URL encoded name=value pair. Null value is written as empty string.
+	 * 
+	 * @param name
+	 * @param value
+	 * @param out
+	 * @throws IOException
+	 */
+	public static void writeUrlEncodedParam(String name, String value, OutputStream out) throws IOException {
+		writeUrlEncoded(name, out);
+		out.write('=');
+
+		if (value != null) {
+			writeUrlEncoded(value, out);
+		}
+	}
 }
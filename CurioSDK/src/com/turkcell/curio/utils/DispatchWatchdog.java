@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Watchdog for request dispatching.
+ *
+ * Aborts HTTP requests that exceed their deadline, and reports dispatcher thread as stuck if it makes no progress (completes no request) for longer than expected during a processing
+ * pass. Uses one daemon timer thread. Deadline tasks of completed requests are cancelled, and purged from timer queue on each periodic check, so they do not pile up until their
+ * deadline.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class DispatchWatchdog {
+	private static final String TAG = "DispatchWatchdog";
+
+	private static DispatchWatchdog instance;
+
+	private final Timer timer = new Timer(TAG, true);
+
+	private final AtomicLong abortedRequestCount = new AtomicLong();
+	private final AtomicLong stuckDispatchCount = new AtomicLong();
+
+	/**
+	 * Dispatcher pass state, written by dispatcher thread and read by timer thread.
+	 */
+	private volatile Thread dispatcherThread;
+	private volatile long lastProgressTime = 0;
+	private volatile long stuckThreshold = 0;
+	private long reportedProgressTime = 0;
+
+	/**
+	 * Getter for singleton instance.
+	 *
+	 * @return
+	 */
+	public static synchronized DispatchWatchdog getInstance() {
+		if (instance == null) {
+			instance = new DispatchWatchdog();
+		}
+		return instance;
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private DispatchWatchdog() {
+		timer.schedule(new TimerTask() {
+			@Override
+			public void run() {
+				timer.purge();
+				checkDispatcher();
+			}
+		}, Constants.DISPATCH_WATCHDOG_CHECK_INTERVAL_IN_MILLIS, Constants.DISPATCH_WATCHDOG_CHECK_INTERVAL_IN_MILLIS);
+	}
+
+	/**
+	 * Schedules abort of given request when deadline passes. Returned task should be cancelled when request completes.
+	 *
+	 * @param request
+	 * @param deadline
+	 *            in ms.
+	 * @return
+	 */
+	public TimerTask scheduleDeadline(final HttpUriRequest request, final long deadline) {
+		TimerTask task = new TimerTask() {
+			@Override
+			public void run() {
+				CurioLogger.w(TAG, "Request deadline of {} ms exceeded, aborting request to {}", deadline, request.getURI());
+				abortedRequestCount.incrementAndGet();
+				CurioLogger.event(EventRingBuffer.EVENT_REQUEST_ABORTED, deadline, 0);
+				request.abort();
+			}
+		};
+
+		timer.schedule(task, deadline);
+
+		return task;
+	}
+
+	/**
+	 * Marks start of a dispatcher processing pass.
+	 *
+	 * @param stuckThreshold
+	 *            max. expected time in ms between two completed requests, dispatcher is reported as stuck after that.
+	 */
+	public void dispatchStarted(long stuckThreshold) {
+		this.dispatcherThread = Thread.currentThread();
+		this.stuckThreshold = stuckThreshold;
+		this.lastProgressTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Marks completion of a request. Counted as progress if dispatcher is in a processing pass, since dispatcher may be waiting for requests sent by dispatch workers.
+	 */
+	public void requestCompleted() {
+		if (lastProgressTime != 0) {
+			lastProgressTime = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * Marks end of a dispatcher processing pass.
+	 */
+	public void dispatchFinished() {
+		lastProgressTime = 0;
+	}
+
+	/**
+	 * Checks if dispatcher makes no progress for too long and reports it once with stack trace of dispatcher thread.
+	 */
+	private void checkDispatcher() {
+		long progressTime = lastProgressTime;
+
+		if (progressTime == 0 || progressTime == reportedProgressTime) {
+			return;
+		}
+
+		long duration = System.currentTimeMillis() - progressTime;
+
+		if (duration > stuckThreshold) {
+			reportedProgressTime = progressTime;
+			stuckDispatchCount.incrementAndGet();
+
+			if (!CurioClientSettings.isLoggingEnabled()) {
+				return;
+			}
+
+			StringBuilder builder = new StringBuilder("Dispatcher is stuck for ").append(duration).append(" ms.");
+			Thread thread = dispatcherThread;
+
+			if (thread != null) {
+				for (StackTraceElement element : thread.getStackTrace()) {
+					builder.append("\n\tat ").append(element);
+				}
+			}
+
+			CurioLogger.e(TAG, builder.toString());
+		}
+	}
+
+	/**
+	 * Gets number of requests aborted because of exceeding their deadline.
+	 *
+	 * @return
+	 */
+	public long getAbortedRequestCount() {
+		return abortedRequestCount.get();
+	}
+
+	/**
+	 * Gets number of times dispatcher is reported as stuck.
+	 *
+	 * @return
+	 */
+	public long getStuckDispatchCount() {
+		return stuckDispatchCount.get();
+	}
+}
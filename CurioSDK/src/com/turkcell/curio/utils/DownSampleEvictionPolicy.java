@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.provider.BaseColumns;
+
+import com.turkcell.curio.IOfflineCacheEvictionPolicy;
+import com.turkcell.curio.utils.CurioDBContract.CurioOfflineCacheEntry;
+
+/**
+ * Evicts stored requests evenly spread over the whole offline cache, so every period of a long offline time loses the same share of its requests instead of losing whole periods.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class DownSampleEvictionPolicy implements IOfflineCacheEvictionPolicy {
+	public static final String NAME = "down_sample";
+
+	@Override
+	public long[] selectEvictedRequests(SQLiteDatabase db, int count) {
+		String[] columns = new String[] { BaseColumns._ID };
+		String selection = CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS + "=?";
+		String[] selectionArgs = new String[] { Constants.NOT_IN_PROCESS_STR };
+		String orderBy = BaseColumns._ID + " ASC";
+
+		Cursor cursor = db.query(CurioOfflineCacheEntry.TABLE_NAME, columns, selection, selectionArgs, null, null, orderBy);
+
+		try {
+			int total = cursor.getCount();
+			int evictedCount = Math.min(count, total);
+			long[] ids = new long[evictedCount];
+
+			/**
+			 * Select the row in the middle of each of evictedCount equal intervals. Intervals are at least one row long, so selected rows are distinct.
+			 */
+			for (int i = 0; i < evictedCount; i++) {
+				cursor.moveToPosition((int) ((2L * i + 1) * total / (2L * evictedCount)));
+				ids[i] = cursor.getLong(0);
+			}
+			return ids;
+		} finally {
+			cursor.close();
+		}
+	}
+}
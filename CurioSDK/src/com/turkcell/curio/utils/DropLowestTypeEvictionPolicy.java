@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.provider.BaseColumns;
+
+import com.turkcell.curio.IOfflineCacheEvictionPolicy;
+import com.turkcell.curio.utils.CurioDBContract.CurioOfflineCacheEntry;
+
+/**
+ * Evicts stored requests of lowest request type first: events before hits (screen start/end) before visits (session start/end), oldest first within the same type.
+ *
+ * Requests stored before request type column was added have no type, they are evicted first since they are the oldest ones.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class DropLowestTypeEvictionPolicy implements IOfflineCacheEvictionPolicy {
+	public static final String NAME = "drop_lowest_type";
+
+	/**
+	 * Eviction rank of request types, lower rank is evicted first. Request types are the ones of {@link CurioUtil#getRequestType(String)}.
+	 */
+	private static final String RANK_EXPRESSION = "CASE " + CurioOfflineCacheEntry.COLUMN_NAME_REQUEST_TYPE + " WHEN 0 THEN 2 WHEN 1 THEN 2 WHEN 2 THEN 1 WHEN 3 THEN 1 ELSE 0 END";
+
+	@Override
+	public long[] selectEvictedRequests(SQLiteDatabase db, int count) {
+		String[] columns = new String[] { BaseColumns._ID };
+		String selection = CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS + "=?";
+		String[] selectionArgs = new String[] { Constants.NOT_IN_PROCESS_STR };
+		String orderBy = RANK_EXPRESSION + " ASC, " + BaseColumns._ID + " ASC";
+
+		return DropOldestEvictionPolicy.readIds(db.query(CurioOfflineCacheEntry.TABLE_NAME, columns, selection, selectionArgs, null, null, orderBy, Integer.toString(count)));
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.provider.BaseColumns;
+
+import com.turkcell.curio.IOfflineCacheEvictionPolicy;
+import com.turkcell.curio.utils.CurioDBContract.CurioOfflineCacheEntry;
+
+/**
+ * Evicts oldest stored requests first (FIFO), so most recent sessions are kept during long offline periods.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class DropOldestEvictionPolicy implements IOfflineCacheEvictionPolicy {
+	public static final String NAME = "drop_oldest";
+
+	@Override
+	public long[] selectEvictedRequests(SQLiteDatabase db, int count) {
+		String[] columns = new String[] { BaseColumns._ID };
+		String selection = CurioOfflineCacheEntry.COLUMN_NAME_IN_PROCESS + "=?";
+		String[] selectionArgs = new String[] { Constants.NOT_IN_PROCESS_STR };
+		String orderBy = BaseColumns._ID + " ASC";
+
+		return readIds(db.query(CurioOfflineCacheEntry.TABLE_NAME, columns, selection, selectionArgs, null, null, orderBy, Integer.toString(count)));
+	}
+
+	/**
+	 * Reads ids in first column of given cursor and closes it.
+	 *
+	 * @param cursor
+	 * @return
+	 */
+	static long[] readIds(Cursor cursor) {
+		try {
+			long[] ids = new long[cursor.getCount()];
+
+			for (int i = 0; cursor.moveToNext(); i++) {
+				ids[i] = cursor.getLong(0);
+			}
+			return ids;
+		} finally {
+			cursor.close();
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Fixed size in-memory ring buffer of recent SDK events, for production diagnostics without logcat.
+ *
+ * Each event is recorded as a binary record of four longs (time, event code and two arguments) into a preallocated array, so recording allocates nothing. When buffer is full, oldest
+ * events are overwritten. Recorded events can be dumped as text on demand.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class EventRingBuffer {
+	public static final int EVENT_REQUEST_QUEUED = 1;
+	public static final int EVENT_REQUEST_SENT = 2;
+	public static final int EVENT_REQUEST_FAILED = 3;
+	public static final int EVENT_REQUEST_STORED = 4;
+	public static final int EVENT_REQUEST_SPILLED = 5;
+	public static final int EVENT_PERIODIC_PAGE_SENT = 6;
+	public static final int EVENT_OFFLINE_PAGE_SENT = 7;
+	public static final int EVENT_ONLINE_BATCH_SENT = 8;
+	public static final int EVENT_CIRCUIT_OPENED = 9;
+	public static final int EVENT_REQUEST_ABORTED = 10;
+	public static final int EVENT_REQUESTS_EVICTED = 11;
+	public static final int EVENT_PAGE_DROPPED = 12;
+
+	private static final String[] EVENT_NAMES = { "UNKNOWN", "REQUEST_QUEUED", "REQUEST_SENT", "REQUEST_FAILED", "REQUEST_STORED", "REQUEST_SPILLED", "PERIODIC_PAGE_SENT",
+			"OFFLINE_PAGE_SENT", "ONLINE_BATCH_SENT", "CIRCUIT_OPENED", "REQUEST_ABORTED",
+			"REQUESTS_EVICTED", "PAGE_DROPPED" };
+
+	private static final int RECORD_LENGTH = 4;
+
+	private final long[] records;
+	private final int capacity;
+	private long recordedEventCount = 0;
+
+	/**
+	 * @param capacity
+	 *            max. number of events kept.
+	 */
+	public EventRingBuffer(int capacity) {
+		this.capacity = capacity;
+		this.records = new long[capacity * RECORD_LENGTH];
+	}
+
+	/**
+	 * Records given event, overwriting the oldest one if buffer is full.
+	 * 
+	 * @param eventCode
+	 * @param arg1
+	 * @param arg2
+	 */
+	public synchronized void record(int eventCode, long arg1, long arg2) {
+		int offset = (int) (recordedEventCount % capacity) * RECORD_LENGTH;
+
+		records[offset] = System.currentTimeMillis();
+		records[offset + 1] = eventCode;
+		records[offset + 2] = arg1;
+		records[offset + 3] = arg2;
+
+		recordedEventCount++;
+	}
+
+	/**
+	 * Dumps recorded events from oldest to newest, one event per line.
+	 * 
+	 * @return
+	 */
+	public synchronized String dump() {
+		SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss.SSS", Locale.US);
+		long first = Math.max(0, recordedEventCount - capacity);
+		StringBuilder builder = new StringBuilder();
+
+		builder.append(recordedEventCount).append(" events recorded, last ").append(recordedEventCount - first).append(" are kept.");
+
+		for (long i = first; i < recordedEventCount; i++) {
+			int offset = (int) (i % capacity) * RECORD_LENGTH;
+			int eventCode = (int) records[offset + 1];
+
+			builder.append('\n').append(dateFormat.format(new Date(records[offset]))).append(' ');
+			builder.append(eventCode > 0 && eventCode < EVENT_NAMES.length ? EVENT_NAMES[eventCode] : EVENT_NAMES[0]);
+			builder.append(' ').append(records[offset + 2]).append(' ').append(records[offset + 3]);
+		}
+
+		return builder.toString();
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.HTTP;
+
+import android.os.Debug;
+
+/**
+ * Wraps an HTTP entity and compresses its content with gzip while it is written to the connection. Request is sent with "Content-Encoding: gzip" header and chunked, since compressed
+ * length is not known before writing.
+ *
+ * Also keeps compression metrics (compression ratio and CPU time spent for compression) for all compressed requests.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class GzipRequestEntity extends HttpEntityWrapper {
+	private static final String TAG = "GzipRequestEntity";
+
+	private static final String GZIP_CODEC = "gzip";
+	private static final int GZIP_BUFFER_SIZE = 8 * 1024;
+
+	/**
+	 * Compression metrics. Using atomic longs since they are read from other threads.
+	 */
+	private static final AtomicLong compressedRequestCount = new AtomicLong();
+	private static final AtomicLong totalUncompressedByteCount = new AtomicLong();
+	private static final AtomicLong totalCompressedByteCount = new AtomicLong();
+	private static final AtomicLong totalCompressionCpuTimeInNanos = new AtomicLong();
+
+	public GzipRequestEntity(HttpEntity wrapped) {
+		super(wrapped);
+	}
+
+	@Override
+	public Header getContentEncoding() {
+		return new BasicHeader(HTTP.CONTENT_ENCODING, GZIP_CODEC);
+	}
+
+	@Override
+	public long getContentLength() {
+		return -1;
+	}
+
+	@Override
+	public boolean isChunked() {
+		return true;
+	}
+
+	/**
+	 * Compresses wrapped content to memory and returns it as a stream. Compression metrics are only kept for requests written to the connection, so they are not updated here.
+	 */
+	@Override
+	public InputStream getContent() throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(GZIP_BUFFER_SIZE);
+		GZIPOutputStream gzipOut = new GZIPOutputStream(compressed, GZIP_BUFFER_SIZE);
+
+		wrappedEntity.writeTo(gzipOut);
+		gzipOut.finish();
+
+		return new ByteArrayInputStream(compressed.toByteArray());
+	}
+
+	@Override
+	public void writeTo(OutputStream outstream) throws IOException {
+		if (outstream == null) {
+			throw new IllegalArgumentException("Output stream may not be null");
+		}
+
+		/**
+		 * CPU time spent in uncompressed stream includes writing compressed bytes to the connection, so it is subtracted to get the time spent for compression only.
+		 */
+		MeteredOutputStream compressedOut = new MeteredOutputStream(outstream);
+		GZIPOutputStream gzipOut = new GZIPOutputStream(compressedOut, GZIP_BUFFER_SIZE);
+		MeteredOutputStream uncompressedOut = new MeteredOutputStream(gzipOut);
+
+		wrappedEntity.writeTo(uncompressedOut);
+
+		long finishStart = Debug.threadCpuTimeNanos();
+		gzipOut.finish();
+		long finishCpuTime = Debug.threadCpuTimeNanos() - finishStart;
+
+		compressedOut.flush();
+
+		long compressionCpuTime = uncompressedOut.getCpuTimeInNanos() + finishCpuTime - compressedOut.getCpuTimeInNanos();
+
+		compressedRequestCount.incrementAndGet();
+		totalUncompressedByteCount.addAndGet(uncompressedOut.getByteCount());
+		totalCompressedByteCount.addAndGet(compressedOut.getByteCount());
+		totalCompressionCpuTimeInNanos.addAndGet(Math.max(0, compressionCpuTime));
+
+		CurioLogger.d(TAG, "Request compressed from {} to {} bytes in {} us CPU time.", uncompressedOut.getByteCount(), compressedOut.getByteCount(), compressionCpuTime / 1000);
+	}
+
+	/**
+	 * Gets number of compressed requests.
+	 *
+	 * @return
+	 */
+	public static long getCompressedRequestCount() {
+		return compressedRequestCount.get();
+	}
+
+	/**
+	 * Gets overall compression ratio, ratio of compressed size to uncompressed size of all compressed requests.
+	 *
+	 * @return
+	 */
+	public static float getCompressionRatio() {
+		long uncompressed = totalUncompressedByteCount.get();
+		return uncompressed == 0 ? 1f : (float) totalCompressedByteCount.get() / uncompressed;
+	}
+
+	/**
+	 * Gets total number of bytes saved by compression.
+	 *
+	 * @return
+	 */
+	public static long getSavedByteCount() {
+		return totalUncompressedByteCount.get() - totalCompressedByteCount.get();
+	}
+
+	/**
+	 * Gets total CPU time spent for compression in microseconds.
+	 *
+	 * @return
+	 */
+	public static long getTotalCompressionCpuTimeInMicros() {
+		return totalCompressionCpuTimeInNanos.get() / 1000;
+	}
+
+	/**
+	 * Gets average CPU time spent for compression per request in microseconds.
+	 *
+	 * @return
+	 */
+	public static long getAverageCompressionCpuTimeInMicros() {
+		long requests = compressedRequestCount.get();
+		return requests == 0 ? 0 : totalCompressionCpuTimeInNanos.get() / 1000 / requests;
+	}
+
+	/**
+	 * Output stream wrapper that counts written bytes and CPU time spent in writes of the current thread.
+	 */
+	private static class MeteredOutputStream extends FilterOutputStream {
+		private long byteCount;
+		private long cpuTimeInNanos;
+
+		public MeteredOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			long start = Debug.threadCpuTimeNanos();
+			out.write(b);
+			cpuTimeInNanos += Debug.threadCpuTimeNanos() - start;
+			byteCount++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			long start = Debug.threadCpuTimeNanos();
+			out.write(b, off, len);
+			cpuTimeInNanos += Debug.threadCpuTimeNanos() - start;
+			byteCount += len;
+		}
+
+		public long getByteCount() {
+			return byteCount;
+		}
+
+		public long getCpuTimeInNanos() {
+			return cpuTimeInNanos;
+		}
+	}
+}
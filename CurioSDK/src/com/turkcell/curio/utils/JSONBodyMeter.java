@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures bytes of JSON request bodies, and the number of bytes the same content would take if it was form encoded, to track savings of sending JSON body.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class JSONBodyMeter extends FilterOutputStream {
+	private static final AtomicLong jsonByteCount = new AtomicLong();
+	private static final AtomicLong formEncodedByteCount = new AtomicLong();
+
+	private long writtenJsonBytes = 0;
+	private long writtenFormEncodedBytes = 0;
+
+	/**
+	 * @param out
+	 *            stream that JSON body is written to.
+	 */
+	public JSONBodyMeter(OutputStream out) {
+		super(out);
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		out.write(b);
+		count(b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+
+		for (int i = off; i < off + len; i++) {
+			count(b[i]);
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+		jsonByteCount.addAndGet(writtenJsonBytes);
+		formEncodedByteCount.addAndGet(writtenFormEncodedBytes);
+		writtenJsonBytes = 0;
+		writtenFormEncodedBytes = 0;
+	}
+
+	/**
+	 * Counts given byte, same rules with {@link CurioUtil#writeUrlEncoded(String, OutputStream)} are used for form encoded size.
+	 */
+	private void count(int b) {
+		b = b & 0xFF;
+		writtenJsonBytes++;
+
+		if ((b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '-' || b == '_' || b == '.' || b == '*' || b == ' ') {
+			writtenFormEncodedBytes++;
+		} else {
+			writtenFormEncodedBytes += 3;
+		}
+	}
+
+	/**
+	 * Gets total number of JSON body bytes sent.
+	 *
+	 * @return
+	 */
+	public static long getJsonByteCount() {
+		return jsonByteCount.get();
+	}
+
+	/**
+	 * Gets total number of bytes that sent JSON bodies would take if they were form encoded.
+	 *
+	 * @return
+	 */
+	public static long getFormEncodedByteCount() {
+		return formEncodedByteCount.get();
+	}
+
+	/**
+	 * Gets total number of bytes saved by sending JSON body.
+	 *
+	 * @return
+	 */
+	public static long getSavedByteCount() {
+		return formEncodedByteCount.get() - jsonByteCount.get();
+	}
+}
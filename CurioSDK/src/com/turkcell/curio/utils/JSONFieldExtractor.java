@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import org.apache.http.protocol.HTTP;
+
+/**
+ * Minimal streaming JSON tokenizer that extracts a single top level string field of a JSON object without building the whole object.
+ *
+ * Reading stops as soon as the field is found. Other values are skipped without allocating them.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class JSONFieldExtractor {
+	private final Reader reader;
+	private int peeked = -2;
+
+	private JSONFieldExtractor(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Extracts value of given top level string field from given JSON object stream.
+	 *
+	 * @param inputStream
+	 *            UTF-8 encoded JSON object.
+	 * @param fieldName
+	 * @return field value, or null if field does not exist, is not a string or JSON is malformed.
+	 * @throws IOException
+	 */
+	public static String extractString(InputStream inputStream, String fieldName) throws IOException {
+		if (inputStream == null) {
+			return null;
+		}
+
+		try {
+			return new JSONFieldExtractor(new InputStreamReader(inputStream, HTTP.UTF_8)).extractString(fieldName);
+		} finally {
+			inputStream.close();
+		}
+	}
+
+	private String extractString(String fieldName) throws IOException {
+		if (nextNonWhitespace() != '{') {
+			return null;
+		}
+
+		if (peekNonWhitespace() == '}') {
+			return null;
+		}
+
+		while (true) {
+			if (nextNonWhitespace() != '"') {
+				return null;
+			}
+
+			boolean isField = matchString(fieldName);
+
+			if (nextNonWhitespace() != ':') {
+				return null;
+			}
+
+			if (isField) {
+				return peekNonWhitespace() == '"' ? readString() : null;
+			}
+
+			skipValue();
+
+			int c = nextNonWhitespace();
+
+			if (c != ',') {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Reads a string value whose opening quote is not consumed yet.
+	 */
+	private String readString() throws IOException {
+		next();
+
+		StringBuilder builder = new StringBuilder();
+
+		while (true) {
+			int c = next();
+
+			if (c == -1) {
+				return null;
+			} else if (c == '"') {
+				return builder.toString();
+			} else if (c == '\\') {
+				int escaped = readEscaped();
+
+				if (escaped == -1) {
+					return null;
+				}
+				builder.append((char) escaped);
+			} else {
+				builder.append((char) c);
+			}
+		}
+	}
+
+	/**
+	 * Compares rest of a string, whose opening quote is consumed, with given value without allocating it.
+	 */
+	private boolean matchString(String value) throws IOException {
+		int index = 0;
+		boolean matches = true;
+
+		while (true) {
+			int c = next();
+
+			if (c == -1) {
+				return false;
+			} else if (c == '"') {
+				return matches && index == value.length();
+			} else if (c == '\\') {
+				c = readEscaped();
+			}
+
+			if (matches && index < value.length() && value.charAt(index) == c) {
+				index++;
+			} else {
+				matches = false;
+			}
+		}
+	}
+
+	private int readEscaped() throws IOException {
+		int c = next();
+
+		switch (c) {
+		case 'b':
+			return '\b';
+		case 'f':
+			return '\f';
+		case 'n':
+			return '\n';
+		case 'r':
+			return '\r';
+		case 't':
+			return '\t';
+		case 'u':
+			int value = 0;
+
+			for (int i = 0; i < 4; i++) {
+				int digit = Character.digit(next(), 16);
+
+				if (digit == -1) {
+					return -1;
+				}
+				value = (value << 4) | digit;
+			}
+			return value;
+		default:
+			return c;
+		}
+	}
+
+	/**
+	 * Skips a value (string, number, literal, object or array).
+	 */
+	private void skipValue() throws IOException {
+		int c = peekNonWhitespace();
+
+		if (c == '"') {
+			next();
+			skipString();
+		} else if (c == '{' || c == '[') {
+			int depth = 0;
+
+			do {
+				c = next();
+
+				if (c == '"') {
+					skipString();
+				} else if (c == '{' || c == '[') {
+					depth++;
+				} else if (c == '}' || c == ']') {
+					depth--;
+				}
+			} while (depth > 0 && c != -1);
+		} else {
+			while (c != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+				next();
+				c = peek();
+			}
+		}
+	}
+
+	/**
+	 * Skips rest of a string whose opening quote is consumed.
+	 */
+	private void skipString() throws IOException {
+		int c;
+
+		while ((c = next()) != -1 && c != '"') {
+			if (c == '\\') {
+				next();
+			}
+		}
+	}
+
+	private int peek() throws IOException {
+		if (peeked == -2) {
+			peeked = reader.read();
+		}
+		return peeked;
+	}
+
+	private int next() throws IOException {
+		int c = peek();
+		peeked = -2;
+		return c;
+	}
+
+	private int peekNonWhitespace() throws IOException {
+		int c = peek();
+
+		while (c != -1 && Character.isWhitespace(c)) {
+			next();
+			c = peek();
+		}
+		return c;
+	}
+
+	private int nextNonWhitespace() throws IOException {
+		peekNonWhitespace();
+		return next();
+	}
+}
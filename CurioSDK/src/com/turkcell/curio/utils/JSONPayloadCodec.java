@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.apache.http.NameValuePair;
+import org.apache.http.protocol.HTTP;
+import org.json.JSONObject;
+
+import com.turkcell.curio.IPayloadCodec;
+
+/**
+ * Payload codec that writes a JSON envelope object holding static parameters as string members and events as JSON array member, which avoids URL encoding of JSON data.
+ *
+ * Stored events are already serialized JSON, so they are written as is. Events are grouped into session envelopes if server supports them, see {@link SessionEventArrayWriter}.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class JSONPayloadCodec implements IPayloadCodec {
+	public static final String CONTENT_TYPE = "application/json; charset=" + HTTP.UTF_8;
+
+	private final boolean sessionEnvelopes;
+
+	private OutputStream out;
+	private SessionEventArrayWriter eventWriter;
+
+	/**
+	 * @param sessionEnvelopes
+	 *            true if events are grouped into session envelopes.
+	 */
+	public JSONPayloadCodec(boolean sessionEnvelopes) {
+		this.sessionEnvelopes = sessionEnvelopes;
+	}
+
+	@Override
+	public String getContentType() {
+		return CONTENT_TYPE;
+	}
+
+	@Override
+	public byte[] encodeStaticParams(List<NameValuePair> staticParams) throws IOException {
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream(512);
+
+		for (NameValuePair pair : staticParams) {
+			if (encoded.size() > 0) {
+				encoded.write(',');
+			}
+
+			writeString(pair.getName(), encoded);
+			encoded.write(':');
+			writeString(pair.getValue(), encoded);
+		}
+
+		return encoded.toByteArray();
+	}
+
+	@Override
+	public void startPayload(OutputStream out, byte[] encodedStaticParams) throws IOException {
+		this.out = new JSONBodyMeter(out);
+		this.eventWriter = new SessionEventArrayWriter(this.out, false, sessionEnvelopes);
+
+		this.out.write('{');
+
+		if (encodedStaticParams != null && encodedStaticParams.length > 0) {
+			this.out.write(encodedStaticParams);
+			this.out.write(',');
+		}
+
+		writeString(Constants.HTTP_PARAM_JSON_DATA, this.out);
+		this.out.write(':');
+		eventWriter.start();
+	}
+
+	@Override
+	public void startSession(String sessionCode) throws IOException {
+		eventWriter.startSession(sessionCode);
+	}
+
+	@Override
+	public void writeEvent(String event) throws IOException {
+		eventWriter.writeEvent(event);
+	}
+
+	@Override
+	public void endPayload() throws IOException {
+		eventWriter.end();
+		out.write('}');
+		out.flush();
+	}
+
+	/**
+	 * Writes given string as quoted JSON string. Null is written as empty string.
+	 */
+	private static void writeString(String value, OutputStream out) throws IOException {
+		out.write(JSONObject.quote(value).getBytes(HTTP.UTF_8));
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executes dispatch tasks on a fixed number of worker threads, keeping the order of tasks with the same key.
+ *
+ * Tasks with the same key always run on the same worker, so they are executed one after another in submission order. Tasks with different keys may run concurrently. Number of
+ * submitted but not completed tasks is limited by number of workers, so submitter blocks while all workers are busy. Workers are daemon threads, so they never keep the process
+ * alive.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class KeyedDispatchExecutor {
+	private static final String TAG = "KeyedDispatchExecutor";
+
+	private final Worker[] workers;
+	private final Semaphore permits;
+
+	private final Object idleLock = new Object();
+	private int pendingTaskCount = 0;
+
+	/**
+	 * Creates executor and starts its worker threads.
+	 *
+	 * @param workerCount
+	 * @param threadName
+	 *            prefix of worker thread names.
+	 */
+	public KeyedDispatchExecutor(int workerCount, String threadName) {
+		workers = new Worker[workerCount];
+		permits = new Semaphore(workerCount);
+
+		for (int i = 0; i < workerCount; i++) {
+			workers[i] = new Worker();
+
+			Thread thread = new Thread(workers[i], threadName + " " + (i + 1));
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Submits given task to the worker of given key. Blocks while all workers are busy.
+	 *
+	 * @param key
+	 * @param task
+	 * @throws InterruptedException
+	 */
+	public void execute(String key, final Runnable task) throws InterruptedException {
+		permits.acquire();
+
+		synchronized (idleLock) {
+			pendingTaskCount++;
+		}
+
+		int index = (key == null ? 0 : key.hashCode() & Integer.MAX_VALUE) % workers.length;
+
+		workers[index].queue.add(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					task.run();
+				} catch (Exception e) {
+					CurioLogger.e(TAG, e.getMessage(), e);
+				} finally {
+					permits.release();
+
+					synchronized (idleLock) {
+						pendingTaskCount--;
+
+						if (pendingTaskCount == 0) {
+							idleLock.notifyAll();
+						}
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Blocks until all submitted tasks are completed. Used as a barrier before tasks that should not run concurrently with any other task.
+	 *
+	 * @throws InterruptedException
+	 */
+	public void awaitIdle() throws InterruptedException {
+		synchronized (idleLock) {
+			while (pendingTaskCount > 0) {
+				idleLock.wait();
+			}
+		}
+	}
+
+	/**
+	 * Worker thread that runs its tasks in order.
+	 */
+	private static class Worker implements Runnable {
+		private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<Runnable>();
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					queue.take().run();
+				}
+			} catch (InterruptedException e) {
+				CurioLogger.e(TAG, e.getMessage());
+			}
+		}
+	}
+}
@@ -59,7 +59,7 @@ public class ParameterLoader {
 			try {
 				return Integer.parseInt(context.getString(id));
 			} catch (NumberFormatException e) {
-				CurioLogger.w(TAG, "NumberFormatException parsing " + context.getString(id));
+				CurioLogger.w(TAG, "NumberFormatException parsing {}", context.getString(id));
 				return defaultValue;
 			}
 		}
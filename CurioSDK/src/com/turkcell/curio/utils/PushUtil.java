@@ -46,7 +46,7 @@ public class PushUtil {
 					public void run() {
 						try {
 							String registrationId = GoogleCloudMessaging.getInstance(context).register(CurioClient.getInstance().getStaticFeatureSet().getGcmSenderId());
-							CurioLogger.d(TAG, "GCM Registration Id acquired: " + registrationId);
+							CurioLogger.d(TAG, "GCM Registration Id acquired: {}", registrationId);
 							storeRegistrationId(context, registrationId);
 							CurioClient.getInstance().sendRegistrationId(context, registrationId);
 						} catch (IOException e) {
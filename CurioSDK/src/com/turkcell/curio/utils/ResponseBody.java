@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.io.IOException;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.util.EntityUtils;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Holder for a buffered response body which is parsed as JSON lazily, only when it is accessed for the first time.
+ *
+ * Parsing is done on the thread that accesses the result (i.e. callback thread), not on the dispatcher thread.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class ResponseBody {
+	private static final String TAG = "ResponseBody";
+
+	private final HttpEntity entity;
+	private JSONObject jsonResult;
+	private boolean isParsed = false;
+
+	/**
+	 * @param entity
+	 *            buffered response entity, see {@link CurioHttpClient#readResponseBody(org.apache.http.HttpResponse)}.
+	 */
+	public ResponseBody(HttpEntity entity) {
+		this.entity = entity;
+	}
+
+	/**
+	 * Gets response body as JSON object. Body is parsed on first call.
+	 *
+	 * @return JSON object, or null if body is empty or not a valid JSON object.
+	 */
+	public synchronized JSONObject getJSONObject() {
+		if (!isParsed) {
+			isParsed = true;
+
+			if (entity != null) {
+				try {
+					String response = EntityUtils.toString(entity, HTTP.UTF_8);
+
+					CurioLogger.d(TAG, "RESPONSE: {}", response);
+
+					if (response != null && !(response.trim().length() == 0)) {
+						jsonResult = new JSONObject(response);
+					}
+				} catch (IOException e) {
+					CurioLogger.e(TAG, e.getMessage(), e);
+				} catch (JSONException e) {
+					CurioLogger.e(TAG, e.getMessage(), e);
+				}
+			}
+		}
+		return jsonResult;
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.util.Random;
+
+/**
+ * Exponential backoff retry policy with full jitter.
+ *
+ * Delay before n'th retry is a random value between 0 and min(maxDelay, baseDelay * multiplier^(n-1)), so retries of different devices are spread in time instead of hitting the server
+ * at the same moment. If failures continue longer than max. elapsed time, policy gives up until it is reset.
+ *
+ * Not thread safe, each dispatch path should use its own instance.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class RetryPolicy {
+	private final long baseDelay;
+	private final int multiplier;
+	private final long maxDelay;
+	private final long maxElapsedTime;
+	private final Random random = new Random();
+
+	private int attemptCount = 0;
+	private long firstFailureTime = 0;
+
+	/**
+	 * Creates retry policy with default parameters.
+	 */
+	public RetryPolicy() {
+		this(Constants.RETRY_BASE_DELAY_IN_MILLIS, Constants.RETRY_DELAY_MULTIPLIER, Constants.RETRY_MAX_DELAY_IN_MILLIS, Constants.RETRY_MAX_ELAPSED_TIME_IN_MILLIS);
+	}
+
+	/**
+	 * @param baseDelay
+	 *            in ms.
+	 * @param multiplier
+	 * @param maxDelay
+	 *            in ms.
+	 * @param maxElapsedTime
+	 *            in ms.
+	 */
+	public RetryPolicy(long baseDelay, int multiplier, long maxDelay, long maxElapsedTime) {
+		this.baseDelay = baseDelay;
+		this.multiplier = multiplier;
+		this.maxDelay = maxDelay;
+		this.maxElapsedTime = maxElapsedTime;
+	}
+
+	/**
+	 * Records a failed attempt and calculates delay before next retry.
+	 *
+	 * @return delay in ms, or -1 if max. elapsed time is exceeded and no more retries should be done.
+	 */
+	public long nextRetryDelay() {
+		long now = System.currentTimeMillis();
+
+		if (attemptCount == 0) {
+			firstFailureTime = now;
+		}
+
+		attemptCount++;
+
+		if (now - firstFailureTime > maxElapsedTime) {
+			return -1;
+		}
+
+		long delayCap = baseDelay;
+
+		for (int i = 1; i < attemptCount && delayCap < maxDelay; i++) {
+			delayCap *= multiplier;
+		}
+
+		delayCap = Math.min(delayCap, maxDelay);
+
+		return (long) (random.nextDouble() * delayCap);
+	}
+
+	/**
+	 * Gets a random delay between 0 and base delay, to spread first attempts of different devices.
+	 *
+	 * @return delay in ms.
+	 */
+	public long getInitialDelay() {
+		return (long) (random.nextDouble() * baseDelay);
+	}
+
+	/**
+	 * Resets policy after a successful attempt or when retrying should start over (i.e. connectivity regained).
+	 */
+	public void reset() {
+		attemptCount = 0;
+		firstFailureTime = 0;
+	}
+
+	/**
+	 * Gets max. delay between retries.
+	 *
+	 * @return delay in ms.
+	 */
+	public long getMaxDelay() {
+		return maxDelay;
+	}
+
+	/**
+	 * Gets number of failed attempts since last reset.
+	 *
+	 * @return
+	 */
+	public int getAttemptCount() {
+		return attemptCount;
+	}
+}
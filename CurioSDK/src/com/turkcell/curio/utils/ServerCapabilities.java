@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+
+import com.turkcell.curio.IPayloadCodec;
+
+/**
+ * Optional wire features negotiated with Curio server.
+ *
+ * A feature is used if it is enabled by configuration or advertised by server in capabilities response header. If server rejects a feature (i.e. responds with 415), it is not used
+ * again until the application restarts.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class ServerCapabilities {
+	private static final String TAG = "ServerCapabilities";
+
+	public static final String CAPABILITY_JSON_BODY = "json-body";
+	public static final String CAPABILITY_BINARY_BODY = "binary-body";
+	public static final String CAPABILITY_SESSION_ENVELOPE = "session-envelope";
+
+	private static ServerCapabilities instance;
+
+	private volatile boolean jsonBodyEnabled = false;
+	private volatile boolean jsonBodyAdvertised = false;
+	private volatile boolean jsonBodyRejected = false;
+	private volatile boolean binaryBodyEnabled = false;
+	private volatile boolean binaryBodyAdvertised = false;
+	private volatile boolean binaryBodyRejected = false;
+	private volatile boolean sessionEnvelopeEnabled = false;
+	private volatile boolean sessionEnvelopeAdvertised = false;
+
+	/**
+	 * Getter for singleton instance.
+	 *
+	 * @return
+	 */
+	public static synchronized ServerCapabilities getInstance() {
+		if (instance == null) {
+			instance = new ServerCapabilities();
+		}
+		return instance;
+	}
+
+	/**
+	 * Private constructor.
+	 */
+	private ServerCapabilities() {
+	}
+
+	/**
+	 * Updates advertised capabilities from capabilities header of given response, if exists. Header value is a comma separated list of capability names.
+	 *
+	 * @param httpResponse
+	 */
+	public void update(HttpResponse httpResponse) {
+		Header header = httpResponse.getFirstHeader(Constants.HTTP_HEADER_SERVER_CAPABILITIES);
+
+		if (header == null || header.getValue() == null) {
+			return;
+		}
+
+		boolean jsonBody = false;
+		boolean binaryBody = false;
+		boolean sessionEnvelope = false;
+
+		for (String capability : header.getValue().split(",")) {
+			if (CAPABILITY_JSON_BODY.equalsIgnoreCase(capability.trim())) {
+				jsonBody = true;
+			} else if (CAPABILITY_BINARY_BODY.equalsIgnoreCase(capability.trim())) {
+				binaryBody = true;
+			} else if (CAPABILITY_SESSION_ENVELOPE.equalsIgnoreCase(capability.trim())) {
+				sessionEnvelope = true;
+			}
+		}
+
+		if (jsonBody != jsonBodyAdvertised || binaryBody != binaryBodyAdvertised) {
+			CurioLogger.d(TAG, "Server JSON body support is {}, binary body support is {}", jsonBody, binaryBody);
+			jsonBodyAdvertised = jsonBody;
+			binaryBodyAdvertised = binaryBody;
+		}
+
+		if (sessionEnvelope != sessionEnvelopeAdvertised) {
+			CurioLogger.d(TAG, "Server session envelope support is {}", sessionEnvelope);
+			sessionEnvelopeAdvertised = sessionEnvelope;
+		}
+	}
+
+	/**
+	 * Checks if batch requests should be sent as JSON body instead of form encoded body.
+	 *
+	 * @return
+	 */
+	public boolean isJsonBodySupported() {
+		return (jsonBodyEnabled || jsonBodyAdvertised) && !jsonBodyRejected;
+	}
+
+	public void setJsonBodyEnabled(boolean jsonBodyEnabled) {
+		this.jsonBodyEnabled = jsonBodyEnabled;
+	}
+
+	/**
+	 * Checks if batch requests should be sent as binary body.
+	 *
+	 * @return
+	 */
+	public boolean isBinaryBodySupported() {
+		return (binaryBodyEnabled || binaryBodyAdvertised) && !binaryBodyRejected;
+	}
+
+	public void setBinaryBodyEnabled(boolean binaryBodyEnabled) {
+		this.binaryBodyEnabled = binaryBodyEnabled;
+	}
+
+	/**
+	 * Checks if events of form encoded and JSON batch requests should be grouped into session envelopes. Binary body always groups events by session.
+	 *
+	 * @return
+	 */
+	public boolean isSessionEnvelopeSupported() {
+		return sessionEnvelopeEnabled || sessionEnvelopeAdvertised;
+	}
+
+	public void setSessionEnvelopeEnabled(boolean sessionEnvelopeEnabled) {
+		this.sessionEnvelopeEnabled = sessionEnvelopeEnabled;
+	}
+
+	/**
+	 * Creates codec for next batch request, binary is preferred over JSON.
+	 *
+	 * @return new codec instance, or null if batch request should be form encoded.
+	 */
+	public IPayloadCodec createPayloadCodec() {
+		if (isBinaryBodySupported()) {
+			return new BinaryPayloadCodec();
+		}
+
+		if (isJsonBodySupported()) {
+			return new JSONPayloadCodec(isSessionEnvelopeSupported());
+		}
+
+		return null;
+	}
+
+	/**
+	 * Marks body format of given codec as rejected by server, so it is not used from now on.
+	 *
+	 * @param codec
+	 */
+	public void setPayloadCodecRejected(IPayloadCodec codec) {
+		if (codec instanceof BinaryPayloadCodec) {
+			CurioLogger.w(TAG, "Server does not accept binary body.");
+			binaryBodyRejected = true;
+		} else if (codec instanceof JSONPayloadCodec) {
+			CurioLogger.w(TAG, "Server does not accept JSON body.");
+			jsonBodyRejected = true;
+		}
+	}
+}
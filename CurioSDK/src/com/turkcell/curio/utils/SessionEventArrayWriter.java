@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.http.protocol.HTTP;
+import org.json.JSONObject;
+
+/**
+ * Writes JSON array of batch events which are stored without session code. Events are written in their original order, consecutive events of the same session form a group.
+ *
+ * If server supports session envelopes, each group is written as an envelope object holding its events, i.e. [{"sessionCode":"...","events":[{...},{...}]}]. Otherwise
+ * events are written as a flat array and session code is added back to each event. Events of unknown session (null session code) already hold their own session code, so they are
+ * written as is. Output is either raw UTF-8 or URL encoded for form bodies.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class SessionEventArrayWriter {
+	static final String ENVELOPE_EVENTS_NODE = "events";
+
+	private final OutputStream out;
+	private final boolean urlEncoded;
+	private final boolean sessionEnvelopes;
+
+	private boolean sessionStarted;
+	private String sessionCodeMember;
+	private int writtenEnvelopeCount;
+	private int writtenEventCount;
+	private int sessionEventCount;
+
+	/**
+	 * @param out
+	 * @param urlEncoded
+	 *            true if output is a form parameter value.
+	 * @param sessionEnvelopes
+	 *            true if events are grouped into session envelopes.
+	 */
+	public SessionEventArrayWriter(OutputStream out, boolean urlEncoded, boolean sessionEnvelopes) {
+		this.out = out;
+		this.urlEncoded = urlEncoded;
+		this.sessionEnvelopes = sessionEnvelopes;
+	}
+
+	public void start() throws IOException {
+		write("[");
+	}
+
+	/**
+	 * Starts a group of events with given session code. Called whenever session code changes, so a session may have more than one group if its events are interleaved with
+	 * events of another session.
+	 *
+	 * @param sessionCode
+	 *            may be null if events hold their own session code.
+	 * @throws IOException
+	 */
+	public void startSession(String sessionCode) throws IOException {
+		sessionCodeMember = sessionCode == null ? null : JSONObject.quote(Constants.JSON_NODE_SESSION_CODE) + ":" + JSONObject.quote(sessionCode);
+		sessionEventCount = 0;
+
+		if (!sessionEnvelopes) {
+			return;
+		}
+
+		endSession();
+		write(writtenEnvelopeCount > 0 ? ",{" : "{");
+
+		if (sessionCodeMember != null) {
+			write(sessionCodeMember);
+			write(",");
+		}
+
+		write(JSONObject.quote(ENVELOPE_EVENTS_NODE));
+		write(":[");
+		sessionStarted = true;
+		writtenEnvelopeCount++;
+	}
+
+	/**
+	 * Writes given event of current session.
+	 *
+	 * @param event
+	 *            serialized JSON object of the event.
+	 * @throws IOException
+	 */
+	public void writeEvent(String event) throws IOException {
+		if (sessionEnvelopes ? sessionEventCount > 0 : writtenEventCount > 0) {
+			write(",");
+		}
+
+		if (!sessionEnvelopes && sessionCodeMember != null && event.startsWith("{")) {
+			write("{");
+			write(sessionCodeMember);
+
+			if (!event.startsWith("{}")) {
+				write(",");
+			}
+
+			write(event.substring(1));
+		} else {
+			write(event);
+		}
+
+		sessionEventCount++;
+		writtenEventCount++;
+	}
+
+	public void end() throws IOException {
+		endSession();
+		write("]");
+	}
+
+	public int getWrittenEventCount() {
+		return writtenEventCount;
+	}
+
+	private void endSession() throws IOException {
+		if (sessionStarted) {
+			write("]}");
+			sessionStarted = false;
+		}
+	}
+
+	private void write(String value) throws IOException {
+		if (urlEncoded) {
+			CurioUtil.writeUrlEncoded(value, out);
+		} else {
+			out.write(value.getBytes(HTTP.UTF_8));
+		}
+	}
+}
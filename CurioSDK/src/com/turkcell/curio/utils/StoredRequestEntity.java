@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.apache.http.NameValuePair;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.protocol.HTTP;
+
+import android.database.Cursor;
+
+import com.turkcell.curio.IPayloadCodec;
+import com.turkcell.curio.model.StoredRequestPage;
+
+/**
+ * HTTP entity for a page of stored requests.
+ *
+ * Instead of building the JSON array of the page as a String and encoding it with UrlEncodedFormEntity, stored request data is read row by row from DB and written directly to the
+ * connection. Pre-encoded static parameter block and static parameters are written first, then the already serialized rows are written as JSON array value of the given parameter. Body is sent chunked, since its length is not
+ * known before encoding. Rows are read in id order, and a new session group is started whenever session code of a row, which is stored in its own column, differs from the previous one,
+ * see {@link SessionEventArrayWriter}.
+ *
+ * Body is either form encoded, or written by a payload codec (i.e. JSON envelope or binary) which avoids URL encoding of JSON data.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class StoredRequestEntity extends AbstractHttpEntity {
+	private static final String TAG = "StoredRequestEntity";
+
+	private static final String CONTENT_TYPE = "application/x-www-form-urlencoded; charset=" + HTTP.UTF_8;
+	private static final int OUTPUT_BUFFER_SIZE = 8 * 1024;
+
+	private final byte[] encodedStaticParams;
+	private final List<NameValuePair> staticParams;
+	private final String jsonDataParamName;
+	private final StoredRequestPage page;
+	private final IPayloadCodec codec;
+	private final boolean sessionEnvelopes;
+
+	/**
+	 * @param encodedStaticParams already encoded parameters to be sent with each page (URL encoded pairs, or encoded by given codec), may be null.
+	 * @param staticParams parameters to be sent with each page, may be null.
+	 * @param jsonDataParamName name of the parameter that holds request data of the page.
+	 * @param page
+	 * @param codec codec of the body, or null if body is form encoded.
+	 */
+	public StoredRequestEntity(byte[] encodedStaticParams, List<NameValuePair> staticParams, String jsonDataParamName, StoredRequestPage page, IPayloadCodec codec) {
+		this.encodedStaticParams = encodedStaticParams;
+		this.staticParams = staticParams;
+		this.jsonDataParamName = jsonDataParamName;
+		this.page = page;
+		this.codec = codec;
+		this.sessionEnvelopes = ServerCapabilities.getInstance().isSessionEnvelopeSupported();
+		setContentType(codec != null ? codec.getContentType() : CONTENT_TYPE);
+		setChunked(true);
+	}
+
+	@Override
+	public boolean isRepeatable() {
+		/**
+		 * Page rows are kept in DB until the page is acknowledged, so they can be written again.
+		 */
+		return true;
+	}
+
+	@Override
+	public long getContentLength() {
+		return -1;
+	}
+
+	/**
+	 * Writes the whole page to memory and returns it as a stream. Requests are sent with {@link #writeTo(OutputStream)}, which streams rows from DB, so this is only for
+	 * callers reading entity content (i.e. logging interceptors).
+	 */
+	@Override
+	public InputStream getContent() throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream(OUTPUT_BUFFER_SIZE);
+		writeTo(content);
+		return new ByteArrayInputStream(content.toByteArray());
+	}
+
+	@Override
+	public boolean isStreaming() {
+		return false;
+	}
+
+	@Override
+	public void writeTo(OutputStream outstream) throws IOException {
+		if (outstream == null) {
+			throw new IllegalArgumentException("Output stream may not be null");
+		}
+
+		if (codec != null) {
+			writeCodecBody(new BufferedOutputStream(outstream, OUTPUT_BUFFER_SIZE));
+			return;
+		}
+
+		OutputStream out = new BufferedOutputStream(outstream, OUTPUT_BUFFER_SIZE);
+
+		if (encodedStaticParams != null) {
+			out.write(encodedStaticParams);
+			out.write('&');
+		}
+
+		if (staticParams != null) {
+			for (NameValuePair pair : staticParams) {
+				CurioUtil.writeUrlEncodedParam(pair.getName(), pair.getValue(), out);
+				out.write('&');
+			}
+		}
+
+		CurioUtil.writeUrlEncoded(jsonDataParamName, out);
+		out.write('=');
+
+		SessionEventArrayWriter eventWriter = new SessionEventArrayWriter(out, true, sessionEnvelopes);
+		eventWriter.start();
+
+		Cursor cursor = CurioDBHelper.getInstance().openStoredRequestPageCursor(page);
+
+		try {
+			String sessionCode = null;
+
+			while (cursor.moveToNext()) {
+				String rowSessionCode = cursor.getString(0);
+
+				if (eventWriter.getWrittenEventCount() == 0 || !equals(sessionCode, rowSessionCode)) {
+					eventWriter.startSession(rowSessionCode);
+					sessionCode = rowSessionCode;
+				}
+
+				eventWriter.writeEvent(cursor.getString(1));
+			}
+		} finally {
+			CurioDBHelper.getInstance().closeStoredRequestPageCursor(cursor);
+		}
+
+		eventWriter.end();
+		out.flush();
+
+		CurioLogger.d(TAG, "{} stored requests written to connection.", eventWriter.getWrittenEventCount());
+	}
+
+	/**
+	 * Writes body with payload codec, static parameters first and then stored requests as events.
+	 *
+	 * @param out
+	 * @throws IOException
+	 */
+	private void writeCodecBody(OutputStream out) throws IOException {
+		codec.startPayload(out, encodedStaticParams != null ? encodedStaticParams : codec.encodeStaticParams(staticParams));
+
+		int writtenRowCount = 0;
+		Cursor cursor = CurioDBHelper.getInstance().openStoredRequestPageCursor(page);
+
+		try {
+			String sessionCode = null;
+
+			while (cursor.moveToNext()) {
+				String rowSessionCode = cursor.getString(0);
+
+				if (writtenRowCount == 0 || !equals(sessionCode, rowSessionCode)) {
+					codec.startSession(rowSessionCode);
+					sessionCode = rowSessionCode;
+				}
+
+				codec.writeEvent(cursor.getString(1));
+				writtenRowCount++;
+			}
+		} finally {
+			CurioDBHelper.getInstance().closeStoredRequestPageCursor(cursor);
+		}
+
+		codec.endPayload();
+
+		CurioLogger.d(TAG, "{} stored requests written to connection as {}.", writtenRowCount, codec.getContentType());
+	}
+
+	private static boolean equals(String first, String second) {
+		return first == null ? second == null : first.equals(second);
+	}
+}
@@ -6,10 +6,20 @@
  */
 package com.turkcell.curio.utils;
 
+import java.security.SecureRandom;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * UUID Generator class. Particularly used for generating time-based UUID.
+ *
+ * UUID.randomUUID() uses a shared SecureRandom which synchronizes internally and may block for entropy on some devices, so it is used only once per process (and once per thread)
+ * for seeding:
+ * <ul>
+ * <li>Time-based UUIDs use a random node id with multicast bit set (RFC 4122 section 4.5) and a random clock sequence, both fixed for the process, and a timestamp which is
+ * incremented by a lock free counter if it does not advance, so no two UUIDs of the process are equal and UUIDs of different devices differ by node id and clock sequence.</li>
+ * <li>Random UUIDs use a per thread xorshift128+ generator seeded from SecureRandom, so threads never contend with each other.</li>
+ * </ul>
  * 
  * @author Can Ciloglu
  *
@@ -22,14 +32,35 @@ public class UUIDGenerator
 	private static final long TIME_OFFSET = 122192928000000000l;
 	private static final long MS_NANO = 10000l;
 	
+	private static final SecureRandom seedGenerator = new SecureRandom();
+
+	/**
+	 * Clock sequence, variant and node id of time-based UUIDs of this process.
+	 */
+	private static final long timeBasedLeastSignificantBits = generateTimeBasedLeastSignificantBits();
+
+	/**
+	 * Last used timestamp of time-based UUIDs, in 100 ns units since 15 October 1582.
+	 */
+	private static final AtomicLong lastTimestamp = new AtomicLong();
+
+	private static final ThreadLocal<XorShiftRandom> threadRandom = new ThreadLocal<XorShiftRandom>() {
+		@Override
+		protected XorShiftRandom initialValue() {
+			return new XorShiftRandom(nextSeed(), nextSeed());
+		}
+	};
+
     /**
      * Creates a type 1 UUID (time-based UUID) with the timestamp of @param rawTimestamp, in milliseconds.
      *
+     * If timestamp is not greater than timestamp of last UUID (i.e. several UUIDs in the same millisecond), timestamp of last UUID plus 100 ns is used.
+     *
      * @return a UUID instance
      */
     public static UUID generateTimeBasedUUID(long rawTimestamp)
     {
-    	long modifiedTimeStamp = (rawTimestamp * MS_NANO) + TIME_OFFSET;
+    	long modifiedTimeStamp = nextTimestamp((rawTimestamp * MS_NANO) + TIME_OFFSET);
     	
         // Time field components are hi, low, mid
         int clockHi = (int) (modifiedTimeStamp >>> 32);
@@ -44,6 +75,103 @@ public class UUIDGenerator
         // and reconstruct
         long mostSignificantBits = (((long) clockLo) << 32) | midhiL;
         
-        return new UUID(mostSignificantBits, UUID.randomUUID().getLeastSignificantBits());
+        return new UUID(mostSignificantBits, timeBasedLeastSignificantBits);
+    }
+
+    /**
+     * Creates a type 4 UUID (random UUID) with the random generator of current thread.
+     *
+     * @return a UUID instance
+     */
+    public static UUID generateRandomUUID()
+    {
+        XorShiftRandom random = threadRandom.get();
+
+        long mostSignificantBits = random.nextLong();
+        long leastSignificantBits = random.nextLong();
+
+        mostSignificantBits &= ~0xF000L; // remove version
+        mostSignificantBits |= 0x4000L; // type 4
+        leastSignificantBits &= 0x3FFFFFFFFFFFFFFFL; // remove variant
+        leastSignificantBits |= 0x8000000000000000L; // IETF variant
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Gets 16 byte binary form of given UUID in network byte order.
+     *
+     * @param uuid
+     * @return
+     */
+    public static byte[] toBytes(UUID uuid)
+    {
+        byte[] bytes = new byte[16];
+        writeLong(uuid.getMostSignificantBits(), bytes, 0);
+        writeLong(uuid.getLeastSignificantBits(), bytes, 8);
+        return bytes;
+    }
+
+    /**
+     * Gets a timestamp which is greater than all timestamps returned before.
+     */
+    private static long nextTimestamp(long timestamp)
+    {
+        while (true) {
+            long last = lastTimestamp.get();
+            long next = timestamp > last ? timestamp : last + 1;
+
+            if (lastTimestamp.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static long generateTimeBasedLeastSignificantBits()
+    {
+        long clockSequence = nextSeed() & 0x3FFFL;
+        long node = (nextSeed() & 0xFFFFFFFFFFFFL) | 0x010000000000L; // multicast bit, since node id is not a MAC address
+
+        return 0x8000000000000000L | (clockSequence << 48) | node;
+    }
+
+    private static long nextSeed()
+    {
+        synchronized (seedGenerator) {
+            return seedGenerator.nextLong();
+        }
+    }
+
+    private static void writeLong(long value, byte[] bytes, int offset)
+    {
+        for (int i = 0; i < 8; i++) {
+            bytes[offset + i] = (byte) (value >>> (56 - i * 8));
+        }
+    }
+
+    /**
+     * xorshift128+ generator. Not thread safe, used as a per thread instance.
+     */
+    private static final class XorShiftRandom
+    {
+        private long s0;
+        private long s1;
+
+        XorShiftRandom(long seed0, long seed1)
+        {
+            // State must not be all zero.
+            this.s0 = seed0;
+            this.s1 = (seed0 | seed1) == 0 ? 1 : seed1;
+        }
+
+        long nextLong()
+        {
+            long x = s0;
+            long y = s1;
+            s0 = y;
+            x ^= x << 23;
+            s1 = x ^ y ^ (x >>> 17) ^ (y >>> 26);
+            return s1 + y;
+        }
     }
 }
\ No newline at end of file
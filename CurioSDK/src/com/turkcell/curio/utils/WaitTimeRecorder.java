@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import java.util.Arrays;
+
+/**
+ * Keeps last N wait time samples and calculates percentiles over them.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class WaitTimeRecorder {
+	private final long[] samples;
+	private int sampleCount = 0;
+	private int nextIndex = 0;
+
+	/**
+	 * @param capacity
+	 *            max. number of samples kept.
+	 */
+	public WaitTimeRecorder(int capacity) {
+		this.samples = new long[capacity];
+	}
+
+	/**
+	 * Records a wait time sample.
+	 *
+	 * @param waitTime
+	 *            in ms.
+	 */
+	public synchronized void record(long waitTime) {
+		samples[nextIndex] = waitTime;
+		nextIndex = (nextIndex + 1) % samples.length;
+
+		if (sampleCount < samples.length) {
+			sampleCount++;
+		}
+	}
+
+	/**
+	 * Gets given percentile of recorded wait times.
+	 *
+	 * @param percentile
+	 *            between 0 and 100.
+	 * @return wait time in ms, or 0 if there is no sample.
+	 */
+	public synchronized long getPercentile(int percentile) {
+		if (sampleCount == 0) {
+			return 0;
+		}
+
+		long[] sorted = new long[sampleCount];
+		System.arraycopy(samples, 0, sorted, 0, sampleCount);
+		Arrays.sort(sorted);
+
+		int index = (int) Math.ceil(percentile / 100.0 * sampleCount) - 1;
+
+		return sorted[Math.max(0, Math.min(index, sampleCount - 1))];
+	}
+
+	public synchronized int getSampleCount() {
+		return sampleCount;
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.http.NameValuePair;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.protocol.HTTP;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import com.turkcell.curio.IPayloadCodec;
+
+/**
+ * Round-trip tests of {@link BinaryPayloadCodec} against {@link JSONPayloadCodec} output.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class BinaryPayloadCodecTest {
+	private static final String SESSION_CODE = "5c2a0b1e-4d3f-11e4-8c21-0800200c9a66";
+	private static final String OTHER_SESSION_CODE = "legacy-session-code";
+
+	@Test
+	public void decodedPayloadMatchesJSONPayload() throws Exception {
+		List<NameValuePair> staticParams = new ArrayList<NameValuePair>();
+		staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_TRACKING_CODE, "TRACKING_CODE"));
+		staticParams.add(new BasicNameValuePair(Constants.HTTP_PARAM_API_KEY, "API \u00c7\u011f\u00fc KEY"));
+
+		String[][] sessions = new String[][] {
+				{ SESSION_CODE, "{\"type\":2,\"timestamp\":1413600000000,\"hitCode\":\"7e3f5c1a-4d3f-11e4-8c21-0800200c9a66\",\"title\":\"Main\",\"count\":42,\"ratio\":1.5,\"visible\":true,\"id\":\"42\"}",
+						"{\"type\":3,\"timestamp\":1413599999000,\"eventKey\":\"click\",\"big\":9007199254740993,\"negative\":-7,\"empty\":null}" },
+				{ OTHER_SESSION_CODE, "{\"type\":4,\"timestamp\":1413600005000,\"hitCode\":\"not-a-uuid\",\"nested\":{\"a\":[1,\"b\",false]},\"list\":[1,2,3]}" },
+				{ null, "{\"type\":5,\"timestamp\":1413600006000,\"sessionCode\":\"" + SESSION_CODE + "\",\"eventValue\":\"\"}", "{\"type\":1,\"timestamp\":1413600006000}" } };
+
+		byte[] json = encode(new JSONPayloadCodec(true), staticParams, sessions);
+		byte[] binary = encode(new BinaryPayloadCodec(), staticParams, sessions);
+
+		JSONObject expected = new JSONObject(new String(json, HTTP.UTF_8));
+		JSONObject actual = BinaryPayloadCodec.decode(new ByteArrayInputStream(binary));
+
+		assertEquals(normalize(expected), normalize(actual));
+	}
+
+	@Test
+	public void numbersAndBooleansKeepTheirTypes() throws Exception {
+		String[][] sessions = new String[][] { { SESSION_CODE, "{\"type\":3,\"timestamp\":1000,\"count\":42,\"id\":\"42\",\"ratio\":0.25,\"visible\":false,\"flag\":\"true\"}" } };
+
+		JSONObject event = decodeSingleEvent(encode(new BinaryPayloadCodec(), new ArrayList<NameValuePair>(), sessions));
+
+		assertEquals(Long.valueOf(42), event.opt("count"));
+		assertEquals("42", event.opt("id"));
+		assertEquals(Double.valueOf(0.25), event.opt("ratio"));
+		assertEquals(Boolean.FALSE, event.opt("visible"));
+		assertEquals("true", event.opt("flag"));
+	}
+
+	@Test
+	public void invalidStoredEventIsSkipped() throws Exception {
+		String[][] sessions = new String[][] { { SESSION_CODE, "{broken", "{\"type\":3,\"timestamp\":1000}" } };
+
+		JSONObject event = decodeSingleEvent(encode(new BinaryPayloadCodec(), new ArrayList<NameValuePair>(), sessions));
+
+		assertEquals(Long.valueOf(1000), event.opt(Constants.JSON_NODE_TIMESTAMP));
+	}
+
+	@Test
+	public void unsupportedVersionIsRejected() throws Exception {
+		try {
+			BinaryPayloadCodec.decode(new ByteArrayInputStream(new byte[] { 99, 0, 0 }));
+			fail("Payload with unknown version should be rejected.");
+		} catch (IOException e) {
+			// Expected.
+		}
+	}
+
+	@Test
+	public void truncatedPayloadIsRejected() throws Exception {
+		String[][] sessions = new String[][] { { SESSION_CODE, "{\"type\":3,\"timestamp\":1000,\"eventKey\":\"click\"}" } };
+		byte[] binary = encode(new BinaryPayloadCodec(), new ArrayList<NameValuePair>(), sessions);
+		byte[] truncated = new byte[binary.length - 3];
+		System.arraycopy(binary, 0, truncated, 0, truncated.length);
+
+		try {
+			BinaryPayloadCodec.decode(new ByteArrayInputStream(truncated));
+			fail("Truncated payload should be rejected.");
+		} catch (IOException e) {
+			// Expected.
+		}
+	}
+
+	/**
+	 * Encodes given sessions, first element of each row is session code and the rest are stored events of that session.
+	 */
+	private static byte[] encode(IPayloadCodec codec, List<NameValuePair> staticParams, String[][] sessions) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		codec.startPayload(out, codec.encodeStaticParams(staticParams));
+
+		for (String[] session : sessions) {
+			codec.startSession(session[0]);
+
+			for (int i = 1; i < session.length; i++) {
+				codec.writeEvent(session[i]);
+			}
+		}
+
+		codec.endPayload();
+		return out.toByteArray();
+	}
+
+	private static JSONObject decodeSingleEvent(byte[] binary) throws Exception {
+		JSONArray sessions = BinaryPayloadCodec.decode(new ByteArrayInputStream(binary)).optJSONArray(Constants.HTTP_PARAM_JSON_DATA);
+		JSONArray events = sessions.getJSONObject(0).optJSONArray(SessionEventArrayWriter.ENVELOPE_EVENTS_NODE);
+
+		assertEquals(1, events.length());
+		return events.getJSONObject(0);
+	}
+
+	/**
+	 * Converts given JSON value to comparable collections. Integers are compared as longs, since JSON parser reads small integers as int.
+	 */
+	private static Object normalize(Object value) throws Exception {
+		if (value instanceof JSONObject) {
+			JSONObject json = (JSONObject) value;
+			Map<String, Object> map = new TreeMap<String, Object>();
+			Iterator<?> keys = json.keys();
+
+			while (keys.hasNext()) {
+				String key = (String) keys.next();
+				map.put(key, normalize(json.opt(key)));
+			}
+
+			return map;
+		} else if (value instanceof JSONArray) {
+			JSONArray array = (JSONArray) value;
+			List<Object> list = new ArrayList<Object>();
+
+			for (int i = 0; i < array.length(); i++) {
+				list.add(normalize(array.get(i)));
+			}
+
+			return list;
+		} else if (value instanceof Integer || value instanceof Long) {
+			return Long.valueOf(((Number) value).longValue());
+		}
+
+		return value;
+	}
+}
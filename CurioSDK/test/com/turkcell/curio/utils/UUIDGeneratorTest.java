@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2026 Turkcell
+ * 
+ * Created by Can Ciloglu on 18 Eki 2026
+ *
+ */
+package com.turkcell.curio.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link UUIDGenerator}.
+ * 
+ * @author Can Ciloglu
+ *
+ */
+public class UUIDGeneratorTest {
+	private static final int THREAD_COUNT = 8;
+	private static final int UUID_COUNT_PER_THREAD = 20000;
+
+	@Test
+	public void timeBasedUUIDsOfSameMillisecondAreUniqueAcrossThreads() throws Exception {
+		final long rawTimestamp = System.currentTimeMillis();
+		final Set<UUID> uuids = Collections.newSetFromMap(new ConcurrentHashMap<UUID, Boolean>());
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		Thread[] threads = new Thread[THREAD_COUNT];
+
+		for (int i = 0; i < THREAD_COUNT; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						startLatch.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+
+					for (int j = 0; j < UUID_COUNT_PER_THREAD; j++) {
+						uuids.add(UUIDGenerator.generateTimeBasedUUID(rawTimestamp));
+					}
+				}
+			});
+			threads[i].start();
+		}
+
+		startLatch.countDown();
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(THREAD_COUNT * UUID_COUNT_PER_THREAD, uuids.size());
+	}
+
+	@Test
+	public void timeBasedUUIDHoldsGivenTimestamp() {
+		long rawTimestamp = System.currentTimeMillis() + 60000;
+		UUID uuid = UUIDGenerator.generateTimeBasedUUID(rawTimestamp);
+
+		// UUID timestamp is in 100 ns units since 15 October 1582.
+		assertEquals(rawTimestamp * 10000 + 122192928000000000L, uuid.timestamp());
+	}
+
+	@Test
+	public void timeBasedUUIDsHaveVersion1AndIETFVariant() {
+		for (int i = 0; i < 1000; i++) {
+			UUID uuid = UUIDGenerator.generateTimeBasedUUID(System.currentTimeMillis());
+
+			assertEquals(1, uuid.version());
+			assertEquals(2, uuid.variant());
+			assertTrue("Node id should have multicast bit set.", (uuid.node() & 0x010000000000L) != 0);
+		}
+	}
+
+	@Test
+	public void randomUUIDsHaveVersion4AndIETFVariant() {
+		for (int i = 0; i < 1000; i++) {
+			UUID uuid = UUIDGenerator.generateRandomUUID();
+
+			assertEquals(4, uuid.version());
+			assertEquals(2, uuid.variant());
+		}
+	}
+
+	@Test
+	public void toBytesUsesNetworkByteOrder() {
+		UUID uuid = UUID.fromString("00112233-4455-6677-8899-aabbccddeeff");
+		byte[] expected = new byte[] { 0x00, 0x11, 0x22, 0x33, 0x44, 0x55, 0x66, 0x77, (byte) 0x88, (byte) 0x99, (byte) 0xaa, (byte) 0xbb, (byte) 0xcc, (byte) 0xdd, (byte) 0xee,
+				(byte) 0xff };
+
+		assertArrayEquals(expected, UUIDGenerator.toBytes(uuid));
+	}
+}